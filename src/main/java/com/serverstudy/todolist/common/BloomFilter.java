@@ -0,0 +1,90 @@
+package com.serverstudy.todolist.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 문자열 블룸 필터, false면 확실히 없는 값이고 true면 있을 수도 있는 값
+// 비트 배열은 AtomicLongArray로 관리해서 여러 스레드가 동시에 추가, 조회 가능
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    private BloomFilter(long bitSize, int hashCount) {
+        this.bits = new AtomicLongArray((int) ((bitSize + 63) / 64));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    // 예상 원소 수와 목표 오탐률로 비트 수, 해시 함수 수 결정
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions는 0보다 커야 합니다.");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) throw new IllegalArgumentException("falsePositiveRate는 0과 1 사이여야 합니다.");
+
+        long bitSize = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+
+        return new BloomFilter(bitSize, hashCount);
+    }
+
+    public void put(String value) {
+
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(hash1 + i * hash2);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.accumulateAndGet(word, mask, (current, bit) -> current | bit);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(hash1 + i * hash2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long bitIndex(int combinedHash) {
+        // 음수 해시는 비트 반전
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitSize;
+    }
+
+    // FNV-1a 64bit + murmur3 fmix64
+    private static long hash(String value) {
+
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
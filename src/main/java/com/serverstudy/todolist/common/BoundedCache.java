@@ -0,0 +1,154 @@
+package com.serverstudy.todolist.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+// 최대 크기와 만료 시간(TTL)이 있는 LRU 캐시
+// 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거하고, 만료된 항목은 조회 시점에 제거
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // accessOrder = true -> 조회할 때마다 가장 뒤로 이동 (LRU)
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    // 크기 초과, 만료로 항목이 제거될 때 호출, 락을 잡은 상태로 실행되므로 가벼운 작업만 수행해야 함
+    private final BiConsumer<K, V> removalListener;
+
+    public BoundedCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, (key, value) -> {});
+    }
+
+    public BoundedCache(int maxSize, long ttlMillis, BiConsumer<K, V> removalListener) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize는 0보다 커야 합니다.");
+        if (ttlMillis <= 0) throw new IllegalArgumentException("ttlMillis는 0보다 커야 합니다.");
+
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.removalListener = removalListener;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean evict = size() > BoundedCache.this.maxSize;
+                if (evict) {
+                    evictionCount.increment();
+                    removalListener.accept(eldest.getKey(), eldest.getValue().value);
+                }
+                return evict;
+            }
+        };
+    }
+
+    public V get(K key) {
+
+        long now = System.currentTimeMillis();
+
+        synchronized (map) {
+            Entry<V> entry = map.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hitCount.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                map.remove(key);  // 만료된 항목 제거
+                removalListener.accept(key, entry.value);
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    // 없거나 만료되었으면 생성해서 저장, 생성 함수는 락을 잡은 상태로 실행되므로 가벼운 작업만 수행해야 함
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+
+        long now = System.currentTimeMillis();
+
+        synchronized (map) {
+            Entry<V> entry = map.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hitCount.increment();
+                return entry.value;
+            }
+            missCount.increment();
+            V value = mappingFunction.apply(key);
+            map.put(key, new Entry<>(value, now + ttlMillis));
+            return value;
+        }
+    }
+
+    public void put(K key, V value) {
+
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    // 항목별 만료 시각 지정, 기본 TTL보다 길게 유지되지는 않음
+    public void put(K key, V value, long expiresAt) {
+
+        long expiry = Math.min(expiresAt, System.currentTimeMillis() + ttlMillis);
+
+        synchronized (map) {
+            map.put(key, new Entry<>(value, expiry));
+        }
+    }
+
+    public void invalidate(K key) {
+
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+
+        synchronized (map) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (predicate.test(entry.getKey(), entry.getValue().value)) iterator.remove();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public int size() {
+
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
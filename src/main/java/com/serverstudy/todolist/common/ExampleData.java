@@ -46,6 +46,17 @@ public interface ExampleData {
               ]
             }
             """;
+    String JOB_NOT_FOUND_DATA = """
+            {
+              "timestamp": "2024-05-15T11:30:54.8218419",
+              "status": 404,
+              "error": "NOT_FOUND",
+              "code": "JOB_NOT_FOUND",
+              "message": [
+                "해당 작업 정보를 찾을 수 없습니다"
+              ]
+            }
+            """;
     String DUPLICATE_USER_EMAIL_DATA = """
             {
               "timestamp": "2024-05-15T12:37:24.9740069",
@@ -69,4 +80,28 @@ public interface ExampleData {
               ]
             }
             """;
+
+    String TOO_MANY_LOGIN_ATTEMPTS_DATA = """
+            {
+              "timestamp": "2024-06-03T14:10:21.0934512",
+              "status": 429,
+              "error": "TOO_MANY_REQUESTS",
+              "code": "TOO_MANY_LOGIN_ATTEMPTS",
+              "message": [
+                "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요."
+              ]
+            }
+            """;
+
+    String PASSWORD_HASHING_BUSY_DATA = """
+            {
+              "timestamp": "2024-06-03T14:12:08.5521437",
+              "status": 503,
+              "error": "SERVICE_UNAVAILABLE",
+              "code": "PASSWORD_HASHING_BUSY",
+              "message": [
+                "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."
+              ]
+            }
+            """;
 }
@@ -0,0 +1,40 @@
+package com.serverstudy.todolist.common;
+
+import com.serverstudy.todolist.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+import static com.serverstudy.todolist.exception.ErrorCode.INVALID_PARAMETER;
+
+// 키셋 페이지네이션 커서, 마지막으로 조회한 행의 정렬 키 값들을 클라이언트가 해석할 수 없는 문자열로 변환
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long... values) {
+
+        String joined = Arrays.stream(values)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 잘못된 커서는 400 예외
+    public static long[] decode(String cursor, int length) {
+
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long[] values = Arrays.stream(joined.split(",")).mapToLong(Long::parseLong).toArray();
+            if (values.length != length) {
+                throw new CustomException(INVALID_PARAMETER);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {  // NumberFormatException 포함
+            throw new CustomException(INVALID_PARAMETER);
+        }
+    }
+}
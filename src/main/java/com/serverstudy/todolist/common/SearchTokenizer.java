@@ -0,0 +1,76 @@
+package com.serverstudy.todolist.common;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// 검색용 토큰 분리
+// 한글은 띄어쓰기만으로는 조사가 붙어 검색이 안 되므로 두 글자씩 잘라서(bigram) 사용 ("레포트를" -> "레포", "포트", "트를")
+// 그 외 문자(영어, 숫자 등)는 소문자로 바꾼 단어 단위로 사용
+public final class SearchTokenizer {
+
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private SearchTokenizer() {
+    }
+
+    // 색인할 토큰 목록 (중복 포함), 한 글자 검색어를 위해 한글은 한 글자 토큰도 추가
+    public static List<String> indexTokens(String text) {
+
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, true, tokens::add);
+        return tokens;
+    }
+
+    // 검색어 토큰 목록 (중복 제거), 두 글자 이상인 한글은 두 글자 토큰만 사용
+    public static List<String> queryTokens(String text) {
+
+        LinkedHashSet<String> tokens = new LinkedHashSet<>();
+        tokenize(text, false, tokens::add);
+        return new ArrayList<>(tokens);
+    }
+
+    private static void tokenize(String text, boolean forIndex, Consumer<String> consumer) {
+
+        if (text == null) return;
+
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int length = lowerCase.length();
+        int start = 0;
+
+        while (start < length) {
+            char c = lowerCase.charAt(start);
+            if (!Character.isLetterOrDigit(c)) {
+                start++;
+                continue;
+            }
+
+            // 같은 종류(한글/그 외) 문자가 이어지는 구간
+            boolean hangul = isHangul(c);
+            int end = start + 1;
+            while (end < length && Character.isLetterOrDigit(lowerCase.charAt(end))
+                    && isHangul(lowerCase.charAt(end)) == hangul) {
+                end++;
+            }
+
+            if (!hangul) {
+                consumer.accept(lowerCase.substring(start, Math.min(end, start + MAX_TOKEN_LENGTH)));
+            } else if (end - start == 1) {
+                consumer.accept(lowerCase.substring(start, end));
+            } else {
+                for (int i = start; i < end; i++) {
+                    if (forIndex) consumer.accept(lowerCase.substring(i, i + 1));
+                    if (i + 1 < end) consumer.accept(lowerCase.substring(i, i + 2));
+                }
+            }
+            start = end;
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣')     // 완성형 한글
+                || (c >= 'ㄱ' && c <= 'ㆎ');    // 한글 자모
+    }
+}
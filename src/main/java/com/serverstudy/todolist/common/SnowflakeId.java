@@ -0,0 +1,15 @@
+package com.serverstudy.todolist.common;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 엔티티 id를 SnowflakeIdGenerator로 생성
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SnowflakeId {
+}
@@ -0,0 +1,53 @@
+package com.serverstudy.todolist.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 시간 순서로 증가하는 Snowflake 방식 id 생성기
+// id = 타임스탬프(ms, 39비트) | 노드 id(5비트) | 시퀀스(9비트), 자바스크립트 숫자로도 정확히 표현되도록 53비트 안에 맞춤
+// 타임스탬프는 EPOCH부터 약 17년, 노드마다 1ms에 512개까지 생성
+// 마지막 (타임스탬프, 시퀀스)를 long 하나에 담아 CAS로 갱신하므로 락과 객체 생성이 없음
+public class SnowflakeIdGenerator {
+
+    public static final int NODE_BITS = 5;
+    public static final int SEQUENCE_BITS = 9;
+    public static final int TIMESTAMP_BITS = 39;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    private final long nodeBits;
+    // (타임스탬프 << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다.");
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    // 같은 ms 안이거나 시계가 뒤로 가면 마지막 값 + 1, 시퀀스가 넘치면 다음 ms를 미리 당겨 씀 (기다리지 않음)
+    public long nextId() {
+
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long next;
+        while (true) {
+            long prev = last.get();
+            next = Math.max(now << SEQUENCE_BITS, prev + 1);
+            if (last.compareAndSet(prev, next)) break;
+        }
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("id 타임스탬프 범위를 초과했습니다.");
+        }
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,200 @@
+package com.serverstudy.todolist.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 계층형 타이밍 휠, 많은 수의 만료 시각을 정렬 없이 O(1)로 등록/취소
+// 휠 하나는 64칸이고, 레벨이 올라갈 때마다 한 칸이 나타내는 시간이 64배 (1초 단위면 64초, 약 68분, 약 3일, 약 194일, 약 34년)
+// 하위 레벨이 한 바퀴 돌 때마다 상위 레벨의 한 칸을 꺼내서 하위 레벨로 다시 나눠 넣음 (cascade)
+// 모든 메서드는 인스턴스 락을 잡고 실행, 만료 처리는 호출한 쪽에서 락 밖에서 수행
+public class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 5;
+    // 등록 가능한 최대 간격, 더 먼 만료 시각은 최대 간격에 두었다가 꺼낼 때 다시 등록
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Slot<T>[][] slots;
+    private final int[] levelSizes = new int[LEVELS];
+
+    // 다음에 처리할 틱
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis는 0보다 커야 합니다.");
+
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new Slot[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int index = 0; index < WHEEL_SIZE; index++) {
+                slots[level][index] = new Slot<>(level);
+            }
+        }
+    }
+
+    // 이미 지난 시각이면 다음 advance()에서 바로 만료
+    public synchronized Timeout<T> schedule(T value, long deadlineMillis) {
+
+        Timeout<T> timeout = new Timeout<>(value, deadlineMillis, deadlineMillis / tickMillis);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    // 이미 만료되었거나 취소된 경우 false
+    public synchronized boolean cancel(Timeout<T> timeout) {
+
+        if (timeout.slot == null) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    // nowMillis까지의 틱을 처리하고 만료된 항목을 만료 시각 순서로 반환
+    public synchronized List<Timeout<T>> advance(long nowMillis) {
+
+        List<Timeout<T>> expired = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+
+        while (currentTick <= nowTick) {
+            int index = (int) (currentTick & WHEEL_MASK);
+            // 0번 칸으로 돌아오면 상위 레벨의 다음 칸을 하위 레벨로 나눔, 상위 레벨도 0번 칸이면 그 위까지 반복
+            for (int level = 1; level < LEVELS && index == 0; level++) {
+                index = (int) ((currentTick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+                cascade(slots[level][index]);
+            }
+
+            Slot<T> slot = slots[0][(int) (currentTick & WHEEL_MASK)];
+            long tick = currentTick++;
+            for (Timeout<T> timeout = slot.head; timeout != null; timeout = slot.head) {
+                unlink(timeout);
+                if (timeout.deadlineTick > tick) {
+                    place(timeout);     // 최대 간격보다 먼 만료 시각
+                } else {
+                    expired.add(timeout);
+                    size--;
+                }
+            }
+        }
+        return expired;
+    }
+
+    // 등록된 항목 전체 취소, 칸마다 리스트를 끊기만 하므로 항목마다 cancel()을 호출하는 것보다 락을 한 번만 잡음
+    public synchronized void clear() {
+
+        for (Slot<T>[] wheel : slots) {
+            for (Slot<T> slot : wheel) {
+                Timeout<T> timeout = slot.head;
+                slot.head = null;
+                while (timeout != null) {
+                    Timeout<T> next = timeout.next;
+                    timeout.slot = null;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    timeout = next;
+                }
+            }
+        }
+        Arrays.fill(levelSizes, 0);
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int size(int level) {
+        return levelSizes[level];
+    }
+
+    public int getLevels() {
+        return LEVELS;
+    }
+
+    private void cascade(Slot<T> slot) {
+
+        for (Timeout<T> timeout = slot.head; timeout != null; timeout = slot.head) {
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    // 남은 틱 수로 레벨을 정하고, 만료 틱의 해당 레벨 자릿수로 칸을 정함
+    private void place(Timeout<T> timeout) {
+
+        long deadlineTick = Math.max(timeout.deadlineTick, currentTick);
+        long remaining = Math.min(deadlineTick - currentTick, MAX_TICKS);
+        deadlineTick = currentTick + remaining;
+
+        int level = 0;
+        while (level < LEVELS - 1 && remaining >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((deadlineTick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+        Slot<T> slot = slots[level][index];
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = slot.head;
+        if (slot.head != null) slot.head.prev = timeout;
+        slot.head = timeout;
+        levelSizes[level]++;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+
+        Slot<T> slot = timeout.slot;
+        if (timeout.prev != null) timeout.prev.next = timeout.next;
+        else slot.head = timeout.next;
+        if (timeout.next != null) timeout.next.prev = timeout.prev;
+
+        levelSizes[slot.level]--;
+        timeout.slot = null;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    // 한 칸에 들어있는 항목의 이중 연결 리스트
+    private static final class Slot<T> {
+
+        private final int level;
+        private Timeout<T> head;
+
+        private Slot(int level) {
+            this.level = level;
+        }
+    }
+
+    // 등록된 항목, 취소할 때 사용
+    public static final class Timeout<T> {
+
+        private final T value;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineMillis, long deadlineTick) {
+            this.value = value;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
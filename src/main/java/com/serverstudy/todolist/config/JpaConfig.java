@@ -0,0 +1,40 @@
+package com.serverstudy.todolist.config;
+
+import com.serverstudy.todolist.common.SnowflakeIdGenerator;
+import com.serverstudy.todolist.common.SnowflakeIdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // insert, update를 batch-size개씩 묶어서 한 번에 전송 (IDENTITY가 아닌 id 생성 전략에서만 insert 배치 가능)
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${jpa.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    // 트랜잭션이 끝나면 커넥션 반환, open-in-view로 요청 끝까지 EntityManager가 열려 있어도
+    // 트랜잭션 밖(비밀번호 해싱 등)에서는 커넥션을 잡고 있지 않음
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        return properties -> properties.putIfAbsent("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    // Snowflake id의 노드 id, 서버 여러 대를 띄우면 서버마다 0 ~ 31 중 다른 값을 지정해야 id가 겹치지 않음
+    @Bean
+    public HibernatePropertiesCustomizer idNodeCustomizer(@Value("${jpa.id.node-id:0}") int nodeId) {
+
+        if (nodeId < 0 || nodeId > SnowflakeIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("jpa.id.node-id는 0 ~ " + SnowflakeIdGenerator.MAX_NODE_ID + " 사이여야 합니다.");
+        }
+        return properties -> properties.putIfAbsent(SnowflakeIdentifierGenerator.NODE_ID_SETTING, nodeId);
+    }
+}
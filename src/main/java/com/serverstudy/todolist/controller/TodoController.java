@@ -3,29 +3,46 @@ package com.serverstudy.todolist.controller;
 import com.serverstudy.todolist.common.Enum;
 import com.serverstudy.todolist.common.ExampleData;
 import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoOperation;
 import com.serverstudy.todolist.dto.request.TodoReq.TodoPost;
+import com.serverstudy.todolist.dto.response.TodoOperationRes;
+import com.serverstudy.todolist.dto.response.TodoPageRes;
 import com.serverstudy.todolist.dto.response.TodoRes;
+import com.serverstudy.todolist.dto.response.TodoStatsRes;
 import com.serverstudy.todolist.exception.ErrorResponse;
 import com.serverstudy.todolist.security.SecurityUser;
 import com.serverstudy.todolist.service.TodoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.serverstudy.todolist.dto.request.TodoReq.TodoFilter;
 import static com.serverstudy.todolist.dto.request.TodoReq.TodoPut;
 
 @Tag(name = "Todo", description = "Todo API 입니다.")
@@ -36,6 +53,11 @@ import static com.serverstudy.todolist.dto.request.TodoReq.TodoPut;
 @RequiredArgsConstructor
 public class TodoController implements ExampleData {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int DEFAULT_DUE_DAYS = 7;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final TodoService todoService;
 
     @Operation(summary = "투두 생성", description = "새로운 투두를 생성합니다.", responses = {
@@ -55,23 +77,187 @@ public class TodoController implements ExampleData {
         return ResponseEntity.status(HttpStatus.CREATED).body(todoId);
     }
 
-    @Operation(summary = "투두 목록 조회", description = "조건에 맞는 투두 목록을 가져옵니다. 진행 상황이 'TODO' -> 'DONE' 순서로 정렬되며, 투두 id 순서대로 가져옵니다.", responses = {
+    @Operation(summary = "투두 여러 개 생성", description = "새로운 투두를 최대 500개까지 한 번에 생성합니다. 하나라도 잘못되면 모두 생성되지 않으며, " +
+            "생성된 투두 id를 요청 순서대로 반환합니다.", responses = {
+            @ApiResponse(responseCode = "201", description = "투두 생성 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            })),
+            @ApiResponse(responseCode = "404", description = "유저가 존재하지 않음", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "USER_NOT_FOUND", value = USER_NOT_FOUND_DATA)
+            }))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<Long>> postTodos(
+            @RequestBody
+            @NotEmpty(message = "투두를 하나 이상 입력해주세요.")
+            @Size(max = MAX_BATCH_SIZE, message = "한 번에 500개까지 생성할 수 있습니다.") List<@Valid TodoPost> todoPosts
+            , @AuthenticationPrincipal SecurityUser user) {
+
+        List<Long> todoIds = todoService.createAll(todoPosts, user.getId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(todoIds);
+    }
+
+    @Operation(summary = "투두 목록 조회", description = "조건에 맞는 투두 목록을 가져옵니다. 진행 상황이 'TODO' -> 'DONE' 순서로 정렬되며, 투두 id 순서대로 가져옵니다. " +
+            "한 번에 size개씩 가져오며, 응답의 nextCursor를 cursor로 전달하면 다음 페이지를 가져옵니다. " +
+            "응답의 ETag를 If-None-Match 헤더로 전달하면 변경이 없을 때 304를 응답합니다.", responses = {
             @ApiResponse(responseCode = "200", description = "투두 목록 조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "304", description = "변경 없음", content = @Content(schema = @Schema(implementation = Void.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
                     @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
             }))
     })
     @GetMapping
-    public ResponseEntity<List<TodoRes>> getTodosByRequirement(
+    public ResponseEntity<TodoPageRes> getTodosByRequirement(
             @Schema(title = "우선 순위", description = "(High|Medium|Low) 중 하나를 대소문자 구분 없이 입력",
                     example = "High", allowableValues = {"High", "Medium", "Low"})
             @NotNull(message = "값이 비어있을 수 없습니다. 값을 입력해주세요.")
             @Enum(enumClass = Priority.class, ignoreCase = true) String priority
+            , @Schema(title = "커서", description = "이전 응답의 nextCursor, 첫 페이지는 미기입")
+            @RequestParam(required = false) String cursor
+            , @Schema(title = "페이지 크기", description = "1~200 사이의 값 입력", example = "50")
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+            @Max(value = MAX_PAGE_SIZE, message = "페이지 크기는 200 이하여야 합니다.") int size
+            , @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+            , @AuthenticationPrincipal SecurityUser user) {
+
+        // 변경이 없으면 조회하지 않고 304 응답
+        String eTag = todoService.getListETag(priority, cursor, size, user.getId());
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        TodoPageRes response = todoService.findAllByRequirement(priority, cursor, size, user.getId());
+
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @Operation(summary = "투두 통계 조회", description = "우선 순위, 진행 상황별 투두 수와 기한 지난 투두 수를 가져옵니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 통계 조회 성공", useReturnTypeSchema = true)
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsRes> getTodoStats(@AuthenticationPrincipal SecurityUser user) {
+
+        TodoStatsRes response = todoService.getStats(user.getId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "마감 기한 범위 투두 목록 조회", description = "마감 기한이 from 이상 to 미만인 투두 목록을 가져옵니다. " +
+            "마감 기한 -> 우선 순위 -> 투두 id 순서로 정렬되며, 응답의 nextCursor를 cursor로 전달하면 다음 페이지를 가져옵니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 목록 조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @GetMapping("/due")
+    public ResponseEntity<TodoPageRes> getTodosDue(
+            @Schema(title = "시작 시각", description = "미기입 시 현재 시각, (yyyy-MM-ddTHH:mm:ss) 형태로 입력", example = "2024-05-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from
+            , @Schema(title = "종료 시각", description = "미기입 시 시작 시각으로부터 7일 후, (yyyy-MM-ddTHH:mm:ss) 형태로 입력", example = "2024-05-08T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+            , @Schema(title = "커서", description = "이전 응답의 nextCursor, 첫 페이지는 미기입")
+            @RequestParam(required = false) String cursor
+            , @Schema(title = "페이지 크기", description = "1~200 사이의 값 입력", example = "50")
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+            @Max(value = MAX_PAGE_SIZE, message = "페이지 크기는 200 이하여야 합니다.") int size
+            , @AuthenticationPrincipal SecurityUser user) {
+
+        LocalDateTime start = (from == null) ? LocalDateTime.now() : from;
+        LocalDateTime end = (to == null) ? start.plusDays(DEFAULT_DUE_DAYS) : to;
+
+        TodoPageRes response = todoService.findAllDue(start, end, cursor, size, user.getId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "기한 지난 투두 목록 조회", description = "마감 기한이 지났지만 완료되지 않은 투두 목록을 가져옵니다. " +
+            "마감 기한 -> 우선 순위 -> 투두 id 순서로 정렬되며, 응답의 nextCursor를 cursor로 전달하면 다음 페이지를 가져옵니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 목록 조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @GetMapping("/overdue")
+    public ResponseEntity<TodoPageRes> getTodosOverdue(
+            @Schema(title = "커서", description = "이전 응답의 nextCursor, 첫 페이지는 미기입")
+            @RequestParam(required = false) String cursor
+            , @Schema(title = "페이지 크기", description = "1~200 사이의 값 입력", example = "50")
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+            @Max(value = MAX_PAGE_SIZE, message = "페이지 크기는 200 이하여야 합니다.") int size
+            , @AuthenticationPrincipal SecurityUser user) {
+
+        TodoPageRes response = todoService.findAllOverdue(cursor, size, user.getId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "투두 다중 조건 조회", description = "여러 우선 순위, 진행 상황과 마감 기한 범위로 투두 목록을 한 번에 가져옵니다. " +
+            "정렬 기준과 방향을 정할 수 있으며, 응답의 nextCursor를 cursor로 전달하면 다음 페이지를 가져옵니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 목록 조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<TodoPageRes> getTodosByFilter(@ParameterObject @Valid TodoFilter todoFilter, @AuthenticationPrincipal SecurityUser user) {
+
+        TodoPageRes response = todoService.findAllByFilter(todoFilter, user.getId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "투두 검색", description = "제목과 설명에 검색어가 모두 포함된 투두를 관련도 순서로 가져옵니다. " +
+            "영어는 단어 단위, 한글은 글자 단위로 검색합니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 검색 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<TodoRes>> searchTodos(
+            @Schema(title = "검색어", description = "공백으로 입력 불가능, 100자 이하", example = "레포트")
+            @RequestParam
+            @NotBlank(message = "검색어를 입력해주세요.")
+            @Size(max = 100, message = "검색어는 100자 이하여야 합니다.") String q
+            , @Schema(title = "최대 개수", description = "1~100 사이의 값 입력", example = "20")
+            @RequestParam(defaultValue = "20")
+            @Min(value = 1, message = "최대 개수는 1 이상이어야 합니다.")
+            @Max(value = MAX_SEARCH_LIMIT, message = "최대 개수는 100 이하여야 합니다.") int limit
+            , @AuthenticationPrincipal SecurityUser user) {
+
+        List<TodoRes> response = todoService.search(q, limit, user.getId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "투두 전체 내보내기", description = "투두 전체를 JSON 배열로 내려받습니다. 목록 조회와 같은 순서로 정렬되며, " +
+            "투두 개수가 많아도 서버에 모으지 않고 읽는 대로 전송합니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 내보내기 성공", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TodoRes.class)))),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @Schema(title = "우선 순위", description = "(High|Medium|Low) 중 하나를 대소문자 구분 없이 입력, 미기입 시 전체",
+                    example = "High", allowableValues = {"High", "Medium", "Low"})
+            @RequestParam(required = false)
+            @Enum(enumClass = Priority.class, ignoreCase = true) String priority
             , @AuthenticationPrincipal SecurityUser user) {
 
-        List<TodoRes> responseList = todoService.findAllByRequirement(priority, user.getId());
+        Long userId = user.getId();
+        StreamingResponseBody response = outputStream -> todoService.exportAll(priority, userId, outputStream);
 
-        return ResponseEntity.ok(responseList);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
     }
 
     @Operation(summary = "투두 수정", description = "해당 투두를 수정합니다. 수정을 원치 않는 값은 조회한 값을 그대로 넣어주세요.", parameters = {
@@ -86,9 +272,9 @@ public class TodoController implements ExampleData {
             }))
     })
     @PutMapping("/{todoId}")
-    public ResponseEntity<Long> putTodo(@Valid @RequestBody TodoPut todoPut, @PathVariable Long todoId) {
+    public ResponseEntity<Long> putTodo(@Valid @RequestBody TodoPut todoPut, @PathVariable Long todoId, @AuthenticationPrincipal SecurityUser user) {
 
-        Long updatedTodoId = todoService.update(todoPut, todoId);
+        Long updatedTodoId = todoService.update(todoPut, todoId, user.getId());
 
         return ResponseEntity.ok(updatedTodoId);
     }
@@ -102,23 +288,58 @@ public class TodoController implements ExampleData {
             }))
     })
     @PatchMapping("/{todoId}/progress")
-    public ResponseEntity<Long> switchTodoProgress(@PathVariable Long todoId) {
+    public ResponseEntity<Long> switchTodoProgress(@PathVariable Long todoId, @AuthenticationPrincipal SecurityUser user) {
 
-        Long switchedTodoId = todoService.switchProgress(todoId);
+        Long switchedTodoId = todoService.switchProgress(todoId, user.getId());
 
         return ResponseEntity.ok(switchedTodoId);
     }
 
+    @Operation(summary = "투두 일괄 변경", description = "투두 수정(UPDATE), 진행 상황 변경(SWITCH), 삭제(DELETE)를 최대 500개까지 한 트랜잭션에서 실행합니다. " +
+            "같은 투두를 두 번 이상 변경할 수 없으며, 요청 순서대로 투두별 결과를 반환합니다. 존재하지 않는 투두는 status 404로 응답하고 나머지는 그대로 실행됩니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "투두 일괄 변경 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @PatchMapping("/batch")
+    public ResponseEntity<List<TodoOperationRes>> patchTodos(
+            @RequestBody
+            @NotEmpty(message = "변경할 투두를 하나 이상 입력해주세요.")
+            @Size(max = MAX_BATCH_SIZE, message = "한 번에 500개까지 변경할 수 있습니다.") List<@Valid TodoOperation> operations
+            , @AuthenticationPrincipal SecurityUser user) {
+
+        List<TodoOperationRes> response = todoService.applyAll(operations, user.getId());
+
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "투두 삭제", description = "해당 투두를 삭제합니다.", parameters = {
             @Parameter(name = "todoId", description = "투두 id", example = "1")
     }, responses = {
-            @ApiResponse(responseCode = "204", description = "투두 삭제 성공", content = @Content(schema = @Schema(implementation = Void.class)))
+            @ApiResponse(responseCode = "204", description = "투두 삭제 성공", content = @Content(schema = @Schema(implementation = Void.class))),
+            @ApiResponse(responseCode = "404", description = "투두가 존재하지 않음", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "TODO_NOT_FOUND", value = TODO_NOT_FOUND_DATA),
+            }))
     })
     @DeleteMapping("/{todoId}")
-    public ResponseEntity<Long> deleteTodo(@PathVariable Long todoId) {
+    public ResponseEntity<Long> deleteTodo(@PathVariable Long todoId, @AuthenticationPrincipal SecurityUser user) {
 
-        todoService.delete(todoId);
+        todoService.delete(todoId, user.getId());
 
         return ResponseEntity.noContent().build();
     }
+
+    // If-None-Match: "a", W/"b" 형태의 목록 지원
+    private boolean matchesETag(String ifNoneMatch, String eTag) {
+
+        if (ifNoneMatch == null) return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) trimmed = trimmed.substring(2);
+            if (trimmed.equals(eTag) || trimmed.equals("*")) return true;
+        }
+        return false;
+    }
 }
@@ -6,8 +6,12 @@ import com.serverstudy.todolist.dto.request.UserReq.UserPatchNickname;
 import com.serverstudy.todolist.dto.request.UserReq.UserPatchPassword;
 import com.serverstudy.todolist.dto.request.UserReq.UserPost;
 import com.serverstudy.todolist.dto.response.JwtRes;
+import com.serverstudy.todolist.dto.response.UserDeletionRes;
+import com.serverstudy.todolist.dto.response.UserPageRes;
+import com.serverstudy.todolist.dto.response.UserPurgeRes;
 import com.serverstudy.todolist.dto.response.UserRes;
 import com.serverstudy.todolist.exception.ErrorResponse;
+import com.serverstudy.todolist.security.LoginThrottle;
 import com.serverstudy.todolist.security.SecurityUser;
 import com.serverstudy.todolist.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,18 +21,25 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 @Tag(name = "User", description = "User API 입니다.")
 @Validated
@@ -38,7 +49,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController implements ExampleData {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
     @Operation(summary = "유저 생성", description = "새로운 유저를 생성합니다.", responses = {
             @ApiResponse(responseCode = "201", description = "유저 생성 성공", useReturnTypeSchema = true),
@@ -47,6 +61,9 @@ public class UserController implements ExampleData {
             })),
             @ApiResponse(responseCode = "409", description = "중복된 유저 이메일", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
                     @ExampleObject(name = "DUPLICATE_USER_EMAIL", value = DUPLICATE_USER_EMAIL_DATA),
+            })),
+            @ApiResponse(responseCode = "503", description = "비밀번호 처리 요청 과다", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "PASSWORD_HASHING_BUSY", value = PASSWORD_HASHING_BUSY_DATA),
             }))
     })
     @PostMapping
@@ -87,12 +104,24 @@ public class UserController implements ExampleData {
             })),
             @ApiResponse(responseCode = "401", description = "이메일 또는 비밀번호 불일치", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
                     @ExampleObject(name = "BAD_CREDENTIALS", value = BAD_CREDENTIALS_DATA),
+            })),
+            @ApiResponse(responseCode = "429", description = "로그인 시도 횟수 초과", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "TOO_MANY_LOGIN_ATTEMPTS", value = TOO_MANY_LOGIN_ATTEMPTS_DATA),
+            })),
+            @ApiResponse(responseCode = "503", description = "비밀번호 처리 요청 과다", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "PASSWORD_HASHING_BUSY", value = PASSWORD_HASHING_BUSY_DATA),
             }))
     })
     @PostMapping("/login")
-    public ResponseEntity<JwtRes> login(@RequestBody UserReq.UserLoginPost loginDto) {
+    public ResponseEntity<JwtRes> login(@RequestBody UserReq.UserLoginPost loginDto, HttpServletRequest request) {
+
+        // DB 조회, 비밀번호 비교 전에 시도 횟수 확인
+        // 리버스 프록시 뒤에서는 server.forward-headers-strategy를 설정해야 getRemoteAddr()가 클라이언트 주소가 됨
+        // 설정하지 않으면 모든 클라이언트가 프록시 주소 하나의 제한을 함께 사용
+        loginThrottle.check(loginDto.getEmail(), request.getRemoteAddr());
 
         JwtRes token = userService.login(loginDto);
+        loginThrottle.reset(loginDto.getEmail());
 
         return ResponseEntity.ok(token);
     }
@@ -141,6 +170,9 @@ public class UserController implements ExampleData {
             })),
             @ApiResponse(responseCode = "404", description = "유저가 존재하지 않음", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
                     @ExampleObject(name = "USER_NOT_FOUND", value = USER_NOT_FOUND_DATA),
+            })),
+            @ApiResponse(responseCode = "503", description = "비밀번호 처리 요청 과다", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "PASSWORD_HASHING_BUSY", value = PASSWORD_HASHING_BUSY_DATA),
             }))
     })
     @PatchMapping("/password")
@@ -152,18 +184,24 @@ public class UserController implements ExampleData {
     }
 
 
-    @Operation(summary = "유저 삭제", description = "해당 유저를 삭제합니다.", responses = {
-            @ApiResponse(responseCode = "204", description = "유저 삭제 성공"),
+    @Operation(summary = "유저 삭제", description = "해당 유저를 삭제합니다. 유저는 바로 삭제되어 더 이상 로그인할 수 없습니다. " +
+            "투두가 많거나 바로 삭제하지 못하면 투두는 백그라운드에서 삭제되며, 202와 함께 삭제 작업 정보를 응답합니다.", responses = {
+            @ApiResponse(responseCode = "204", description = "유저 삭제 성공", content = @Content(schema = @Schema(implementation = Void.class))),
+            @ApiResponse(responseCode = "202", description = "유저 삭제 성공, 투두 삭제 진행 중", useReturnTypeSchema = true),
             @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
                     @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
             })),
     })
     @DeleteMapping
-    public ResponseEntity<Void> deleteUser(@AuthenticationPrincipal SecurityUser user) {
+    public ResponseEntity<UserDeletionRes> deleteUser(@AuthenticationPrincipal SecurityUser user) {
 
-        userService.delete(user.getId());
+        UserDeletionRes deletion = userService.delete(user.getId());
 
-        return ResponseEntity.noContent().build();
+        // 투두까지 모두 삭제된 경우만 204, 나머지는 백그라운드에서 삭제 중
+        if (deletion.getStatus() == UserDeletionRes.Status.COMPLETED) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().body(deletion);
     }
 
     @Operation(summary = "관리자 로그인", description = "관리자 계정으로 로그인합니다.", responses = {
@@ -177,28 +215,117 @@ public class UserController implements ExampleData {
         return ResponseEntity.ok(token);
     }
 
-    @Operation(summary = "모든 유저 정보 조회", description = "모든 유저 정보를 조회합니다. 관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
+    @Operation(summary = "모든 유저 정보 조회", description = "관리자를 제외한 유저 정보를 id 순서로 조회합니다. 한 번에 size개씩 가져오며, " +
+            "응답의 nextCursor를 cursor로 전달하면 다음 페이지를 가져옵니다. 관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
             @ApiResponse(responseCode = "200", description = "조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
     })
     @Secured("ROLE_ADMIN")
     @GetMapping("/admin")
-    public ResponseEntity<List<UserRes>> getAllUsers() {
+    public ResponseEntity<UserPageRes> getAllUsers(
+            @Schema(title = "커서", description = "이전 응답의 nextCursor, 첫 페이지는 미기입")
+            @RequestParam(required = false) String cursor
+            , @Schema(title = "페이지 크기", description = "1~200 사이의 값 입력", example = "50")
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+            @Max(value = MAX_PAGE_SIZE, message = "페이지 크기는 200 이하여야 합니다.") int size) {
 
-        List<UserRes> userResList = userService.getAll();
+        UserPageRes response = userService.getAll(cursor, size);
 
-        return ResponseEntity.ok(userResList);
+        return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "모든 유저 삭제", description = "모든 유저를 삭제합니다. 관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
-            @ApiResponse(responseCode = "204", description = "삭제 성공", useReturnTypeSchema = true),
+    @Operation(summary = "모든 유저 정보 내보내기", description = "관리자를 제외한 유저 정보를 id 순서로 NDJSON(한 줄에 유저 하나) 또는 CSV로 내려받습니다. " +
+            "유저 수가 많아도 서버에 모으지 않고 읽는 대로 전송합니다. 관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "내보내기 성공", content = {
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = UserRes.class)),
+                    @Content(mediaType = "text/csv", schema = @Schema(type = "string", example = "id,email,nickname"))
+            }),
+            @ApiResponse(responseCode = "400", description = "잘못된 파라미터 입력", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "INVALID_PARAMETER", value = INVALID_PARAMETER_DATA),
+            }))
+    })
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Schema(title = "형식", description = "(ndjson|csv) 중 하나를 대소문자 구분 없이 입력", example = "ndjson", allowableValues = {"ndjson", "csv"})
+            @RequestParam(defaultValue = "ndjson")
+            @Pattern(regexp = "(?i)ndjson|csv", message = "형식은 ndjson 또는 csv여야 합니다.") String format) {
+
+        StreamingResponseBody response = outputStream -> userService.exportAll(format, outputStream);
+        boolean csv = format.equalsIgnoreCase("csv");
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "users.csv" : "users.ndjson")
+                        .build().toString())
+                .body(response);
+    }
+
+    @Operation(summary = "유저 투두 삭제 진행 상황 조회", description = "삭제된 유저의 투두 삭제 작업 진행 상황을 조회합니다. 끝난 작업은 일정 시간 동안 조회할 수 있습니다. " +
+            "관리자 계정으로 로그인 되어 있어야 합니다.", parameters = {
+            @Parameter(name = "userId", description = "삭제된 유저 id", example = "1")
+    }, responses = {
+            @ApiResponse(responseCode = "200", description = "조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "삭제 작업이 존재하지 않음", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "JOB_NOT_FOUND", value = JOB_NOT_FOUND_DATA),
+            }))
+    })
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/admin/deletions/{userId}")
+    public ResponseEntity<UserDeletionRes> getUserDeletion(@PathVariable Long userId) {
+
+        UserDeletionRes deletion = userService.getDeletionStatus(userId);
+
+        return ResponseEntity.ok(deletion);
+    }
+
+    @Operation(summary = "모든 유저 삭제", description = "관리자를 제외한 모든 유저와 모든 투두를 백그라운드에서 삭제합니다. 이미 진행 중이면 진행 중인 작업 정보를 응답합니다. " +
+            "관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
+            @ApiResponse(responseCode = "202", description = "삭제 시작", useReturnTypeSchema = true),
     })
     @Secured("ROLE_ADMIN")
     @DeleteMapping("/admin")
-    public ResponseEntity<Void> deleteAllUsers() {
+    public ResponseEntity<UserPurgeRes> deleteAllUsers() {
+
+        UserPurgeRes purge = userService.deleteAll();
+
+        return ResponseEntity.accepted().body(purge);
+    }
+
+    @Operation(summary = "모든 유저 삭제 진행 상황 조회", description = "진행 중이거나 마지막으로 실행한 모든 유저 삭제 작업의 진행 상황을 조회합니다. " +
+            "관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "조회 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "삭제 작업이 존재하지 않음", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "JOB_NOT_FOUND", value = JOB_NOT_FOUND_DATA),
+            }))
+    })
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/admin/purge")
+    public ResponseEntity<UserPurgeRes> getPurge() {
+
+        UserPurgeRes purge = userService.getPurgeStatus();
+
+        return ResponseEntity.ok(purge);
+    }
+
+    @Operation(summary = "모든 유저 삭제 취소", description = "진행 중인 모든 유저 삭제 작업을 취소합니다. 현재 삭제 중인 단위까지 삭제한 뒤 멈추며, 이미 삭제된 데이터는 복구되지 않습니다. " +
+            "관리자 계정으로 로그인 되어 있어야 합니다.", responses = {
+            @ApiResponse(responseCode = "200", description = "취소 요청 성공", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "삭제 작업이 존재하지 않음", content = @Content(schema = @Schema(implementation = ErrorResponse.class), examples = {
+                    @ExampleObject(name = "JOB_NOT_FOUND", value = JOB_NOT_FOUND_DATA),
+            }))
+    })
+    @Secured("ROLE_ADMIN")
+    @DeleteMapping("/admin/purge")
+    public ResponseEntity<UserPurgeRes> cancelPurge() {
 
-        userService.deleteAll();
+        UserPurgeRes purge = userService.cancelPurge();
 
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(purge);
     }
 
 }
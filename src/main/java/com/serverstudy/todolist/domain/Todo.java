@@ -1,5 +1,6 @@
 package com.serverstudy.todolist.domain;
 
+import com.serverstudy.todolist.common.SnowflakeId;
 import com.serverstudy.todolist.domain.enums.Priority;
 import com.serverstudy.todolist.domain.enums.Progress;
 import com.serverstudy.todolist.dto.request.TodoReq.TodoPut;
@@ -13,12 +14,25 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todo_tb")
+@Table(name = "todo_tb", indexes = {
+        // 투두 목록 조회 (user_id, priority 조건 + progress_ordinal, id 정렬)를 인덱스만으로 처리
+        @Index(name = "idx_todo_user_priority_progress", columnList = "user_id, priority, progress_ordinal, id"),
+        // 마감 기한 범위 조회 (user_id 조건 + deadline 범위, deadline, priority, id 정렬)
+        @Index(name = "idx_todo_user_deadline", columnList = "user_id, deadline, priority, id"),
+        // 지난 마감 기한 조회 (user_id, progress_ordinal 조건 + deadline 범위, deadline, priority, id 정렬)
+        // 완료된 투두는 인덱스 범위 밖이므로 읽지 않음
+        @Index(name = "idx_todo_user_progress_deadline", columnList = "user_id, progress_ordinal, deadline, priority, id"),
+        // (user_id, id) 순서로 읽는 조회: 검색 색인 생성 스트림(전체는 user_id, id 순서 / 유저별은 id 순서),
+        // 유저 삭제 시 id 순서로 나눠서 삭제, 우선 순위 없는 내보내기
+        @Index(name = "idx_todo_user_id", columnList = "user_id, id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class Todo {
+
+    // IDENTITY는 insert 배치가 불가능하므로 시간 순서 id를 미리 생성
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private String title;
@@ -35,6 +49,12 @@ public class Todo {
     @NotNull
     private Progress progress;
 
+    // 정렬용 진행 상황 순서 (TODO = 0, DONE = 1), progress가 바뀔 때 함께 변경
+    // ddl-auto=update가 기존 테이블에 NOT NULL로 추가하면 DB가 모든 행을 0으로 채우므로 nullable로 매핑
+    // ProgressOrdinalBackfill이 값을 채운 뒤 NOT NULL로 변경
+    @Column(name = "progress_ordinal")
+    private Integer progressOrdinal;
+
     private Long userId;
 
     @Builder
@@ -43,13 +63,13 @@ public class Todo {
         this.description = description;
         this.deadline = deadline;
         this.priority = priority;
-        this.progress = progress;
+        changeProgress(progress);
         this.userId = userId;
     }
 
     public void switchProgress() {
-        if (this.progress.equals(Progress.TODO)) this.progress = Progress.DONE;
-        else this.progress = Progress.TODO;
+        if (this.progress.equals(Progress.TODO)) changeProgress(Progress.DONE);
+        else changeProgress(Progress.TODO);
     }
 
     public void updateTodo(TodoPut todoPut) {
@@ -57,6 +77,11 @@ public class Todo {
         this.description = todoPut.getDescription();
         this.deadline = todoPut.getDeadline();
         this.priority = todoPut.getPriority();
-        this.progress = todoPut.getProgress();
+        changeProgress(todoPut.getProgress());
+    }
+
+    private void changeProgress(Progress progress) {
+        this.progress = progress;
+        this.progressOrdinal = progress.ordinal();
     }
 }
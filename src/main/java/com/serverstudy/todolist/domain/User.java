@@ -1,5 +1,6 @@
 package com.serverstudy.todolist.domain;
 
+import com.serverstudy.todolist.common.SnowflakeId;
 import com.serverstudy.todolist.domain.enums.Role;
 import com.serverstudy.todolist.dto.request.UserReq.UserPatchNickname;
 import jakarta.persistence.*;
@@ -8,6 +9,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -19,7 +21,7 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(unique = true)
@@ -34,9 +36,16 @@ public class User {
     @NotNull
     private String nickname;
 
+    // 기본 이름과 같음, 관리자 일괄 삭제에서 직접 삭제하므로 명시
     @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     private Set<Role> roles;
 
+    // 토큰 버전, 비밀번호 변경 시 증가시켜 이전에 발급된 토큰을 무효화
+    @Column
+    @ColumnDefault("0")
+    private int tokenVersion;
+
     @Builder
     private User(String email, String password, String nickname) {
         this.email = email;
@@ -54,6 +63,10 @@ public class User {
         this.password = encodedNewPassword;
     }
 
+    public int increaseTokenVersion() {
+        return ++this.tokenVersion;
+    }
+
     public void addRole(Role role) {
         this.roles.add(role);
     }
@@ -0,0 +1,8 @@
+package com.serverstudy.todolist.domain.enums;
+
+// 투두 일괄 변경 요청의 작업 종류
+public enum TodoOperationType {
+    UPDATE,     // 수정
+    SWITCH,     // 진행 상황 변경 (TODO <-> DONE)
+    DELETE      // 삭제
+}
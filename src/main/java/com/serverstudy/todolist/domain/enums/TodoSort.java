@@ -0,0 +1,9 @@
+package com.serverstudy.todolist.domain.enums;
+
+// 투두 목록 정렬 기준, 모두 마지막에 id로 정렬해서 순서가 하나로 정해짐
+public enum TodoSort {
+    PROGRESS,   // 진행 상황 -> id
+    PRIORITY,   // 우선 순위 -> 진행 상황 -> id
+    DEADLINE,   // 마감 기한 -> 우선 순위 -> id (마감 기한이 없는 투두 제외)
+    CREATED     // id (생성 순서)
+}
@@ -4,15 +4,27 @@ import com.serverstudy.todolist.common.Enum;
 import com.serverstudy.todolist.domain.Todo;
 import com.serverstudy.todolist.domain.enums.Priority;
 import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.domain.enums.TodoOperationType;
+import com.serverstudy.todolist.domain.enums.TodoSort;
+import com.serverstudy.todolist.repository.TodoFilterQuery;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 public interface TodoReq {
 
@@ -106,4 +118,101 @@ public interface TodoReq {
         }
     }
 
+    @Schema(description = "투두 일괄 변경 요청 DTO")
+    @Getter
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    class TodoOperation {
+
+        @Schema(title = "작업 종류", description = "(UPDATE|SWITCH|DELETE) 중 하나를 대소문자 구분 없이 입력",
+                example = "SWITCH", allowableValues = {"UPDATE", "SWITCH", "DELETE"})
+        @NotNull(message = "값이 비어있을 수 없습니다. 값을 입력해주세요.")
+        @Enum(enumClass = TodoOperationType.class, ignoreCase = true)
+        private String type;
+
+        @Schema(title = "투두 Id", description = "변경할 투두 Id", example = "1")
+        @NotNull(message = "값이 비어있을 수 없습니다. 값을 입력해주세요.")
+        private Long todoId;
+
+        @Schema(title = "수정 내용", description = "UPDATE일 때만 입력, 수정을 원치 않는 값은 조회한 값을 그대로 입력")
+        @Valid
+        private TodoPut todo;
+
+        public TodoOperationType getType() {
+            return TodoOperationType.valueOf(type.toUpperCase(Locale.ROOT));
+        }
+
+        @Schema(hidden = true)
+        @AssertTrue(message = "UPDATE는 수정 내용(todo)을 입력해주세요.")
+        private boolean isTodoPresent() {
+            return type == null || !type.equalsIgnoreCase(TodoOperationType.UPDATE.name()) || todo != null;
+        }
+    }
+
+    @Schema(description = "투두 다중 조건 조회 요청 DTO")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    class TodoFilter {
+
+        @Schema(title = "우선 순위 목록", description = "(High|Medium|Low) 중 여러 개를 대소문자 구분 없이 입력, 미기입 시 전체",
+                example = "[\"High\", \"Medium\"]")
+        private List<@Enum(enumClass = Priority.class, ignoreCase = true) String> priority;
+
+        @Schema(title = "진행 상황 목록", description = "(TODO|DONE) 중 여러 개를 대소문자 구분 없이 입력, 미기입 시 전체",
+                example = "[\"TODO\"]")
+        private List<@Enum(enumClass = Progress.class, ignoreCase = true) String> progress;
+
+        @Schema(title = "마감 기한 시작", description = "미기입 또는 (yyyy-MM-ddTHH:mm:ss) 형태로 입력, 마감 기한이 이 시각 이후인 투두",
+                example = "2024-05-01T00:00:00")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime deadlineFrom;
+
+        @Schema(title = "마감 기한 끝", description = "미기입 또는 (yyyy-MM-ddTHH:mm:ss) 형태로 입력, 마감 기한이 이 시각 이전인 투두",
+                example = "2024-06-01T00:00:00")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime deadlineTo;
+
+        @Schema(title = "정렬 기준", description = "(PROGRESS|PRIORITY|DEADLINE|CREATED) 중 하나를 대소문자 구분 없이 입력, " +
+                "DEADLINE은 마감 기한이 없는 투두 제외", example = "PROGRESS", allowableValues = {"PROGRESS", "PRIORITY", "DEADLINE", "CREATED"})
+        @Enum(enumClass = TodoSort.class, ignoreCase = true)
+        private String sort = TodoSort.PROGRESS.name();
+
+        @Schema(title = "정렬 방향", description = "(ASC|DESC) 중 하나를 대소문자 구분 없이 입력",
+                example = "ASC", allowableValues = {"ASC", "DESC"})
+        @Pattern(regexp = "(?i)ASC|DESC", message = "ASC 또는 DESC를 입력해주세요.")
+        private String direction = "ASC";
+
+        @Schema(title = "커서", description = "이전 응답의 nextCursor, 첫 페이지는 미기입, 조건을 바꾸면 처음부터 다시 조회")
+        private String cursor;
+
+        @Schema(title = "페이지 크기", description = "1~200 사이의 값 입력", example = "50")
+        @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+        @Max(value = 200, message = "페이지 크기는 200 이하여야 합니다.")
+        private int size = 50;
+
+        public TodoFilterQuery toFilterQuery(long userId) {
+            return TodoFilterQuery.builder()
+                    .userId(userId)
+                    .priorities(toEnums(priority, Priority.class))
+                    .progresses(toEnums(progress, Progress.class))
+                    .deadlineFrom(deadlineFrom)
+                    .deadlineTo(deadlineTo)
+                    .sort(TodoSort.valueOf(sort.toUpperCase(Locale.ROOT)))
+                    .descending(direction.equalsIgnoreCase("DESC"))
+                    .cursor(cursor)
+                    .build();
+        }
+
+        private static <E extends java.lang.Enum<E>> List<E> toEnums(List<String> values, Class<E> enumClass) {
+
+            if (values == null) return List.of();
+
+            return values.stream()
+                    .map(value -> Arrays.stream(enumClass.getEnumConstants())
+                            .filter(constant -> constant.name().equalsIgnoreCase(value))
+                            .findAny()
+                            .orElseThrow())
+                    .toList();
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.serverstudy.todolist.dto.response;
+
+import com.serverstudy.todolist.domain.enums.TodoOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Schema(description = "투두 일괄 변경 결과 DTO")
+@Getter
+public class TodoOperationRes {
+
+    @Schema(title = "투두 Id", description = "투두 Id", example = "1")
+    private final Long todoId;
+
+    @Schema(title = "작업 종류", description = "작업 종류", example = "SWITCH")
+    private final TodoOperationType type;
+
+    @Schema(title = "상태 코드", description = "성공 시 200, 투두가 없으면 404", example = "200")
+    private final int status;
+
+    @Schema(title = "커스텀 에러 코드", description = "실패 시 에러 코드, 성공 시 null", example = "TODO_NOT_FOUND")
+    private final String code;
+
+    @Builder
+    private TodoOperationRes(Long todoId, TodoOperationType type, int status, String code) {
+        this.todoId = todoId;
+        this.type = type;
+        this.status = status;
+        this.code = code;
+    }
+}
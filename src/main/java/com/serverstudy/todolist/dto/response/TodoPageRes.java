@@ -0,0 +1,24 @@
+package com.serverstudy.todolist.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Schema(description = "투두 목록 페이지 응답 DTO")
+@Getter
+public class TodoPageRes {
+
+    @Schema(title = "투두 목록", description = "투두 목록")
+    private final List<TodoRes> todoList;
+
+    @Schema(title = "다음 페이지 커서", description = "다음 페이지 조회 시 cursor로 전달, 다음 페이지가 없으면 null", example = "MCwxMjM")
+    private final String nextCursor;
+
+    @Builder
+    private TodoPageRes(List<TodoRes> todoList, String nextCursor) {
+        this.todoList = todoList;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.serverstudy.todolist.dto.response;
+
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Schema(description = "투두 통계 응답 DTO")
+@Getter
+public class TodoStatsRes {
+
+    @Schema(title = "전체 투두 수", description = "전체 투두 수", example = "12")
+    private final int total;
+
+    @Schema(title = "우선 순위, 진행 상황별 투두 수", description = "우선 순위 -> 진행 상황 -> 투두 수",
+            example = "{\"High\": {\"TODO\": 3, \"DONE\": 1}, \"Medium\": {\"TODO\": 2, \"DONE\": 4}, \"Low\": {\"TODO\": 0, \"DONE\": 2}}")
+    private final Map<Priority, Map<Progress, Integer>> counts;
+
+    @Schema(title = "기한 지난 투두 수", description = "마감 기한이 지났지만 완료되지 않은 투두 수", example = "2")
+    private final long overdue;
+
+    @Builder
+    private TodoStatsRes(int total, Map<Priority, Map<Progress, Integer>> counts, long overdue) {
+        this.total = total;
+        this.counts = counts;
+        this.overdue = overdue;
+    }
+}
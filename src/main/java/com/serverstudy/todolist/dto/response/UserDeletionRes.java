@@ -0,0 +1,44 @@
+package com.serverstudy.todolist.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "유저 투두 삭제 작업 응답 DTO")
+@Getter
+public class UserDeletionRes {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Schema(title = "유저 Id", description = "삭제된 유저 Id", example = "1")
+    private final long userId;
+
+    @Schema(title = "상태", description = "(RUNNING|COMPLETED|FAILED) 중 하나", example = "RUNNING")
+    private final Status status;
+
+    @Schema(title = "전체 투두 수", description = "삭제 시작 시점의 투두 수", example = "1000000")
+    private final long totalTodos;
+
+    @Schema(title = "삭제된 투두 수", description = "지금까지 삭제된 투두 수", example = "250000")
+    private final long deletedTodos;
+
+    @Schema(title = "시작 시각", description = "삭제 시작 시각", example = "2024-05-15T23:59:00")
+    private final LocalDateTime startedAt;
+
+    @Schema(title = "종료 시각", description = "삭제 종료 시각, 진행 중이면 null", example = "2024-05-16T00:01:00")
+    private final LocalDateTime finishedAt;
+
+    @Builder
+    private UserDeletionRes(long userId, Status status, long totalTodos, long deletedTodos, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this.userId = userId;
+        this.status = status;
+        this.totalTodos = totalTodos;
+        this.deletedTodos = deletedTodos;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+}
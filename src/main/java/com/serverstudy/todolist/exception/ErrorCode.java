@@ -19,11 +19,18 @@ public enum ErrorCode {
     /* 404 NOT_FOUND : Resource 를 찾을 수 없음 */
     USER_NOT_FOUND(NOT_FOUND, "해당 유저 정보를 찾을 수 없습니다"),
     TODO_NOT_FOUND(NOT_FOUND, "해당 투두 정보를 찾을 수 없습니다"),
+    JOB_NOT_FOUND(NOT_FOUND, "해당 작업 정보를 찾을 수 없습니다"),
 
     /* 409 CONFLICT : Resource 의 현재 상태와 충돌. 보통 중복된 데이터 존재 */
     DUPLICATE_RESOURCE(CONFLICT, "해당 데이터가 이미 존재합니다"),
     DUPLICATE_USER_EMAIL(CONFLICT, "해당 이메일이 이미 존재합니다"),
 
+    /* 429 TOO_MANY_REQUESTS : 요청 횟수 제한 초과 */
+    TOO_MANY_LOGIN_ATTEMPTS(TOO_MANY_REQUESTS, "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요."),
+
+    /* 503 SERVICE_UNAVAILABLE : 일시적으로 요청을 처리할 수 없음 */
+    PASSWORD_HASHING_BUSY(SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+
     ;
     private final HttpStatus httpStatus;
     private final String message;
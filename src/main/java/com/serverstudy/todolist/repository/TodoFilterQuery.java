@@ -0,0 +1,186 @@
+package com.serverstudy.todolist.repository;
+
+import com.serverstudy.todolist.common.KeysetCursor;
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.domain.enums.TodoSort;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import com.serverstudy.todolist.exception.CustomException;
+import jakarta.persistence.TypedQuery;
+import lombok.Builder;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.serverstudy.todolist.exception.ErrorCode.INVALID_PARAMETER;
+
+// 투두 다중 조건 조회 쿼리
+// 어떤 조건이 있는지(형태)에 따라 JPQL 문자열을 한 번만 만들어서 재사용, 같은 문자열이므로 Hibernate 쿼리 계획 캐시도 재사용됨
+// 정렬 기준의 키 값으로 키셋 페이지네이션
+public class TodoFilterQuery {
+
+    // 형태는 최대 2^5 * 정렬 기준 4 * 방향 2 = 256개
+    private static final Map<Shape, String> JPQL_CACHE = new ConcurrentHashMap<>();
+
+    private final long userId;
+    private final Set<Priority> priorities;
+    private final Set<Integer> progressOrdinals;
+    private final LocalDateTime deadlineFrom;
+    private final LocalDateTime deadlineTo;
+    private final TodoSort sort;
+    private final boolean descending;
+    // 이전 페이지 마지막 투두의 정렬 키 값 (첫 페이지는 null)
+    private final Object[] after;
+
+    private final Shape shape;
+
+    // priorities, progresses가 비어있으면 전체, cursor는 이전 응답의 nextCursor
+    @Builder
+    private TodoFilterQuery(long userId, Collection<Priority> priorities, Collection<Progress> progresses,
+                            LocalDateTime deadlineFrom, LocalDateTime deadlineTo,
+                            TodoSort sort, boolean descending, String cursor) {
+
+        if (deadlineFrom != null && deadlineTo != null && !deadlineFrom.isBefore(deadlineTo)) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
+
+        this.userId = userId;
+        this.priorities = (priorities == null || priorities.isEmpty()) ? null : EnumSet.copyOf(priorities);
+        this.progressOrdinals = (progresses == null || progresses.isEmpty())
+                ? null
+                : progresses.stream().map(Progress::ordinal).collect(Collectors.toSet());
+        this.deadlineFrom = deadlineFrom;
+        this.deadlineTo = deadlineTo;
+        this.sort = (sort == null) ? TodoSort.PROGRESS : sort;
+        this.descending = descending;
+        this.after = (cursor == null) ? null : decode(cursor);
+
+        this.shape = new Shape(this.priorities != null, this.progressOrdinals != null,
+                deadlineFrom != null, deadlineTo != null, this.sort, descending, this.after != null);
+    }
+
+    public String getJpql() {
+        return JPQL_CACHE.computeIfAbsent(shape, TodoFilterQuery::buildJpql);
+    }
+
+    public void bind(TypedQuery<?> query) {
+
+        query.setParameter("userId", userId);
+        if (shape.priorities()) query.setParameter("priorities", priorities);
+        if (shape.progresses()) query.setParameter("progresses", progressOrdinals);
+        if (shape.deadlineFrom()) query.setParameter("deadlineFrom", deadlineFrom);
+        if (shape.deadlineTo()) query.setParameter("deadlineTo", deadlineTo);
+        if (shape.cursor()) {
+            for (int i = 0; i < after.length; i++) {
+                query.setParameter("k" + i, after[i]);
+            }
+        }
+    }
+
+    // 다음 페이지 조회에 사용할 커서
+    public String nextCursor(TodoRes last) {
+
+        List<Long> values = new ArrayList<>();
+        for (Key key : keys(sort)) {
+            switch (key) {
+                case PROGRESS -> values.add((long) last.getProgress().ordinal());
+                case PRIORITY -> values.add((long) last.getPriority().ordinal());
+                case DEADLINE -> {
+                    values.add(last.getDeadline().toEpochSecond(ZoneOffset.UTC));
+                    values.add((long) last.getDeadline().getNano());
+                }
+                case ID -> values.add(last.getId());
+            }
+        }
+        return KeysetCursor.encode(values.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private Object[] decode(String cursor) {
+
+        List<Key> keys = keys(sort);
+        int length = keys.contains(Key.DEADLINE) ? keys.size() + 1 : keys.size();
+        long[] values = KeysetCursor.decode(cursor, length);
+
+        Object[] decoded = new Object[keys.size()];
+        int position = 0;
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                decoded[i] = switch (keys.get(i)) {
+                    case PROGRESS -> Math.toIntExact(values[position++]);
+                    case PRIORITY -> Priority.values()[Math.toIntExact(values[position++])];
+                    case DEADLINE -> LocalDateTime.ofEpochSecond(values[position++], Math.toIntExact(values[position++]), ZoneOffset.UTC);
+                    case ID -> values[position++];
+                };
+            }
+        } catch (ArithmeticException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
+        return decoded;
+    }
+
+    private static String buildJpql(Shape shape) {
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+                "FROM Todo t WHERE t.userId = :userId");
+
+        if (shape.priorities()) jpql.append(" AND t.priority IN :priorities");
+        if (shape.progresses()) jpql.append(" AND t.progressOrdinal IN :progresses");
+        if (shape.deadlineFrom()) jpql.append(" AND t.deadline >= :deadlineFrom");
+        if (shape.deadlineTo()) jpql.append(" AND t.deadline < :deadlineTo");
+        if (shape.sort() == TodoSort.DEADLINE && !shape.deadlineFrom() && !shape.deadlineTo()) {
+            jpql.append(" AND t.deadline IS NOT NULL");
+        }
+
+        List<Key> keys = keys(shape.sort());
+        // (k0 > :k0 OR (k0 = :k0 AND (k1 > :k1 OR (k1 = :k1 AND id > :k2))))
+        if (shape.cursor()) {
+            String operator = shape.descending() ? " < " : " > ";
+            String keyset = null;
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                String path = keys.get(i).path;
+                String compare = path + operator + ":k" + i;
+                keyset = (keyset == null)
+                        ? compare
+                        : "(" + compare + " OR (" + path + " = :k" + i + " AND " + keyset + "))";
+            }
+            jpql.append(" AND ").append(keyset);
+        }
+
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Key key : keys) {
+            orderBy.add(key.path + (shape.descending() ? " DESC" : " ASC"));
+        }
+        return jpql.append(orderBy).toString();
+    }
+
+    private static List<Key> keys(TodoSort sort) {
+
+        return switch (sort) {
+            case PROGRESS -> List.of(Key.PROGRESS, Key.ID);
+            case PRIORITY -> List.of(Key.PRIORITY, Key.PROGRESS, Key.ID);
+            case DEADLINE -> List.of(Key.DEADLINE, Key.PRIORITY, Key.ID);
+            case CREATED -> List.of(Key.ID);
+        };
+    }
+
+    // 정렬 키
+    private enum Key {
+        PROGRESS("t.progressOrdinal"), PRIORITY("t.priority"), DEADLINE("t.deadline"), ID("t.id");
+
+        private final String path;
+
+        Key(String path) {
+            this.path = path;
+        }
+    }
+
+    // 쿼리 형태 = 값과 상관없이 어떤 조건이 있는지
+    private record Shape(boolean priorities, boolean progresses, boolean deadlineFrom, boolean deadlineTo,
+                         TodoSort sort, boolean descending, boolean cursor) {
+    }
+}
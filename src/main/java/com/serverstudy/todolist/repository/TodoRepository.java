@@ -2,14 +2,175 @@ package com.serverstudy.todolist.repository;
 
 import com.serverstudy.todolist.domain.Todo;
 import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TodoRepository extends JpaRepository<Todo, Long>{
-    @Query("SELECT t FROM Todo t WHERE t.userId = :userId AND t.priority = :priority " +
-            "ORDER BY CASE t.progress WHEN 'TODO' THEN 0 WHEN 'DONE' THEN 1 END")
-    List<Todo> findAllByUserIdAndPriorityOrderByProgress(long userId, Priority priority);
-    List<Todo> findAllByUserId(long userId);
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
+    // (진행 상황 순서, id) 키셋 페이지네이션, 첫 페이지는 progressOrder = -1
+    // idx_todo_user_priority_progress 인덱스 순서 그대로 읽으므로 정렬 작업(filesort)이 없음
+    // 엔티티 대신 TodoRes로 바로 조회 (영속성 컨텍스트에 올리지 않음)
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.priority = :priority " +
+            "AND (t.progressOrdinal > :progressOrder OR (t.progressOrdinal = :progressOrder AND t.id > :todoId)) " +
+            "ORDER BY t.progressOrdinal, t.id")
+    List<TodoRes> findPageByUserIdAndPriority(long userId, Priority priority, int progressOrder, long todoId, Limit limit);
+    // 마감 기한이 [from, to) 범위인 투두, (마감 기한, 우선 순위, id) 순서
+    // idx_todo_user_deadline 인덱스 순서 그대로 읽음, 다음 페이지는 이전 페이지 마지막 투두 이후부터 조회
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.deadline >= :from AND t.deadline < :to " +
+            "ORDER BY t.deadline, t.priority, t.id")
+    List<TodoRes> findDueFirstPage(long userId, LocalDateTime from, LocalDateTime to, Limit limit);
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.deadline < :to " +
+            "AND (t.deadline > :deadline OR (t.deadline = :deadline " +
+            "AND (t.priority > :priority OR (t.priority = :priority AND t.id > :todoId)))) " +
+            "ORDER BY t.deadline, t.priority, t.id")
+    List<TodoRes> findDueNextPage(long userId, LocalDateTime deadline, Priority priority, long todoId, LocalDateTime to, Limit limit);
+    // 마감 기한이 now 이전인 완료되지 않은 투두
+    // idx_todo_user_progress_deadline (user_id, progress_ordinal 등호 + deadline 범위) 순서 그대로 읽음
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.deadline < :now AND t.progressOrdinal = 0 " +
+            "ORDER BY t.deadline, t.priority, t.id")
+    List<TodoRes> findOverdueFirstPage(long userId, LocalDateTime now, Limit limit);
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.deadline < :now AND t.progressOrdinal = 0 " +
+            "AND (t.deadline > :deadline OR (t.deadline = :deadline " +
+            "AND (t.priority > :priority OR (t.priority = :priority AND t.id > :todoId)))) " +
+            "ORDER BY t.deadline, t.priority, t.id")
+    List<TodoRes> findOverdueNextPage(long userId, LocalDateTime deadline, Priority priority, long todoId, LocalDateTime now, Limit limit);
+    // 내보내기용 청크 조회, 진행 상황 순서마다 id 순서로 나눠서 읽음
+    // 우선 순위 지정: idx_todo_user_priority_progress (user_id, priority, progress_ordinal 등호 + id 범위)를 그대로 읽음
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.priority = :priority AND t.progressOrdinal = :progressOrder AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<TodoRes> findExportChunkByPriority(long userId, Priority priority, int progressOrder, long afterId, Limit limit);
+    // 우선 순위 전체: idx_todo_user_id (user_id 등호 + id 범위)를 따라 읽으며 진행 상황으로 거름, 정렬 작업(filesort) 없음
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.progressOrdinal = :progressOrder AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<TodoRes> findExportChunk(long userId, int progressOrder, long afterId, Limit limit);
+    // 검색 결과 id로 조회, 다른 유저의 투두는 제외
+    @Query("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+            "FROM Todo t WHERE t.userId = :userId AND t.id IN :todoIds")
+    List<TodoRes> findAllByUserIdAndIdIn(long userId, Collection<Long> todoIds);
+    // 검색 색인 생성용, 색인에 필요한 컬럼만 조회
+    // idx_todo_user_id (user_id, id) 순서 그대로 읽으므로 테이블 전체를 정렬하지 않음
+    @Query("SELECT t.userId AS userId, t.id AS id, t.title AS title, t.description AS description " +
+            "FROM Todo t ORDER BY t.userId, t.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<TodoSearchText> streamAllSearchText();
+    @Query("SELECT t.userId AS userId, t.id AS id, t.title AS title, t.description AS description " +
+            "FROM Todo t WHERE t.userId = :userId ORDER BY t.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<TodoSearchText> streamSearchTextByUserId(long userId);
+    // 우선 순위, 진행 상황별 투두 수, idx_todo_user_priority_progress 인덱스만으로 처리
+    @Query("SELECT t.priority AS priority, t.progressOrdinal AS progressOrdinal, COUNT(t) AS count " +
+            "FROM Todo t WHERE t.userId = :userId GROUP BY t.priority, t.progressOrdinal")
+    List<TodoCount> countGroupByPriorityAndProgress(long userId);
+    // idx_todo_user_progress_deadline 인덱스만으로 처리
+    @Query("SELECT COUNT(t) FROM Todo t WHERE t.userId = :userId AND t.deadline < :now AND t.progressOrdinal = 0")
+    long countOverdue(long userId, LocalDateTime now);
+    // 마감 기한 알림 등록용, 마감 기한이 남은 완료되지 않은 투두
+    @Query("SELECT t.id AS id, t.userId AS userId, t.title AS title, t.deadline AS deadline " +
+            "FROM Todo t WHERE t.progress = com.serverstudy.todolist.domain.enums.Progress.TODO AND t.deadline > :now")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<TodoDeadline> streamPendingDeadlines(LocalDateTime now);
+    // 조회 없이 한 번의 update/delete로 변경, 유저의 투두가 아니면 0 반환
+    @Modifying
+    @Query("UPDATE Todo t SET t.title = :title, t.description = :description, t.deadline = :deadline, " +
+            "t.priority = :priority, t.progress = :progress, t.progressOrdinal = :progressOrdinal " +
+            "WHERE t.id = :todoId AND t.userId = :userId")
+    int updateByIdAndUserId(long todoId, long userId, String title, String description, LocalDateTime deadline,
+                            Priority priority, Progress progress, int progressOrdinal);
+    @Modifying
+    @Query("UPDATE Todo t SET " +
+            "t.progress = CASE WHEN t.progressOrdinal = 0 " +
+            "THEN com.serverstudy.todolist.domain.enums.Progress.DONE " +
+            "ELSE com.serverstudy.todolist.domain.enums.Progress.TODO END, " +
+            "t.progressOrdinal = 1 - t.progressOrdinal " +
+            "WHERE t.id = :todoId AND t.userId = :userId")
+    int switchProgressByIdAndUserId(long todoId, long userId);
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id = :todoId AND t.userId = :userId")
+    int deleteByIdAndUserId(long todoId, long userId);
+    // 일괄 변경 대상을 행 잠금과 함께 조회 (SELECT ... FOR UPDATE), 커밋까지 다른 트랜잭션이 수정/삭제할 수 없음
+    // 여러 요청이 같은 투두를 잠글 때 교착 상태가 생기지 않도록 id 순서로 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Todo t WHERE t.userId = :userId AND t.id IN :todoIds ORDER BY t.id")
+    List<Todo> findAllForUpdateByUserIdAndIdIn(long userId, Collection<Long> todoIds);
+    // 진행 상황 일괄 변경 (TODO <-> DONE), progress를 먼저 바꿔야 변경 전 progressOrdinal로 판단함
+    @Modifying
+    @Query("UPDATE Todo t SET " +
+            "t.progress = CASE WHEN t.progressOrdinal = 0 " +
+            "THEN com.serverstudy.todolist.domain.enums.Progress.DONE " +
+            "ELSE com.serverstudy.todolist.domain.enums.Progress.TODO END, " +
+            "t.progressOrdinal = 1 - t.progressOrdinal " +
+            "WHERE t.userId = :userId AND t.id IN :todoIds")
+    int switchProgressAllByUserIdAndIdIn(long userId, Collection<Long> todoIds);
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.userId = :userId AND t.id IN :todoIds")
+    int deleteAllByUserIdAndIdIn(long userId, Collection<Long> todoIds);
+    // 유저 삭제 시 투두를 id 범위로 나눠서 삭제
+    long countByUserId(long userId);
+    @Query("SELECT t.id FROM Todo t WHERE t.userId = :userId AND t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsByUserId(long userId, long afterId, Limit limit);
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.userId = :userId AND t.id > :afterId AND t.id <= :lastId")
+    int deleteAllByUserIdAndIdRange(long userId, long afterId, long lastId);
+    // 관리자 일괄 삭제, 시작 시점의 최대 id까지 id 범위로 나눠서 삭제
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Todo t")
+    long findMaxId();
+    @Query("SELECT t.id FROM Todo t WHERE t.id > :afterId AND t.id <= :maxId ORDER BY t.id")
+    List<Long> findIds(long afterId, long maxId, Limit limit);
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id > :afterId AND t.id <= :lastId")
+    int deleteAllByIdRange(long afterId, long lastId);
+    // 삭제된 유저의 남은 투두 (투두 삭제 도중 서버가 종료된 경우), 유저 id 순서로 나눠서 조회
+    @Query("SELECT DISTINCT t.userId FROM Todo t WHERE t.userId > :afterUserId " +
+            "AND NOT EXISTS (SELECT u.id FROM User u WHERE u.id = t.userId) ORDER BY t.userId")
+    List<Long> findOrphanUserIds(long afterUserId, Limit limit);
+    // progress와 맞지 않는 progress_ordinal 채우기, id 순서로 나눠서 처리
+    // 컬럼 추가 시 DB가 채운 NULL 또는 기본값(0)을 모두 찾도록 IS NULL 대신 progress와 비교
+    @Query("SELECT t.id FROM Todo t WHERE t.id > :afterId AND (t.progressOrdinal IS NULL " +
+            "OR t.progressOrdinal <> CASE t.progress WHEN 'TODO' THEN 0 WHEN 'DONE' THEN 1 END) ORDER BY t.id")
+    List<Long> findIdsWithWrongProgressOrdinal(long afterId, Limit limit);
+    @Modifying
+    @Query("UPDATE Todo t SET t.progressOrdinal = CASE t.progress WHEN 'TODO' THEN 0 WHEN 'DONE' THEN 1 END " +
+            "WHERE t.id IN :todoIds")
+    int fillProgressOrdinalByIdIn(Collection<Long> todoIds);
+
+    interface TodoSearchText {
+        Long getUserId();
+        Long getId();
+        String getTitle();
+        String getDescription();
+    }
+
+    interface TodoDeadline {
+        Long getId();
+        Long getUserId();
+        String getTitle();
+        LocalDateTime getDeadline();
+    }
+
+    interface TodoCount {
+        Priority getPriority();
+        Integer getProgressOrdinal();
+        long getCount();
+    }
 }
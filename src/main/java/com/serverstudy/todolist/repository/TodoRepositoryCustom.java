@@ -0,0 +1,9 @@
+package com.serverstudy.todolist.repository;
+
+import com.serverstudy.todolist.dto.response.TodoRes;
+
+import java.util.List;
+
+public interface TodoRepositoryCustom {
+    List<TodoRes> findAllByFilter(TodoFilterQuery filterQuery, int limit);
+}
@@ -0,0 +1,23 @@
+package com.serverstudy.todolist.repository;
+
+import com.serverstudy.todolist.dto.response.TodoRes;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TodoRes> findAllByFilter(TodoFilterQuery filterQuery, int limit) {
+
+        TypedQuery<TodoRes> query = entityManager.createQuery(filterQuery.getJpql(), TodoRes.class);
+        filterQuery.bind(query);
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
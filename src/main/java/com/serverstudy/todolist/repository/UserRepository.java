@@ -1,11 +1,57 @@
 package com.serverstudy.todolist.repository;
 
 import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.dto.response.UserRes;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenVersionById(long userId);
+    @Query("SELECT new com.serverstudy.todolist.dto.response.UserRes(u.id, u.email, u.nickname) FROM User u WHERE u.id = :userId")
+    Optional<UserRes> findUserResById(long userId);
+    // 관리자 제외, id 순서 키셋 페이지
+    @Query("SELECT new com.serverstudy.todolist.dto.response.UserRes(u.id, u.email, u.nickname) FROM User u " +
+            "WHERE u.id > :afterId AND u.email <> 'ADMIN' ORDER BY u.id")
+    List<UserRes> findPageExceptAdmin(long afterId, Limit limit);
+    // 관리자 제외, 내보내기용 스트리밍 조회
+    @Query("SELECT new com.serverstudy.todolist.dto.response.UserRes(u.id, u.email, u.nickname) FROM User u " +
+            "WHERE u.email <> 'ADMIN' ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserRes> streamAllUserResExceptAdmin();
+    // 해시를 읽은 뒤 다른 요청이 비밀번호를 바꿨으면 덮어쓰지 않음 (변경된 행 0)
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :userId AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(long userId, String oldPassword, String newPassword);
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword, u.tokenVersion = u.tokenVersion + 1 " +
+            "WHERE u.id = :userId AND u.password = :oldPassword")
+    int changePasswordIfUnchanged(long userId, String oldPassword, String newPassword);
+    // 관리자 일괄 삭제, 시작 시점의 최대 id까지 id 순서로 나눠서 삭제
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.id <= :maxId AND u.email <> 'ADMIN' ORDER BY u.id")
+    List<Long> findIdsExceptAdmin(long afterId, long maxId, Limit limit);
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN :userIds", nativeQuery = true)
+    int deleteRolesByUserIdIn(Collection<Long> userIds);
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :userIds")
+    int deleteAllByIdIn(Collection<Long> userIds);
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
 }
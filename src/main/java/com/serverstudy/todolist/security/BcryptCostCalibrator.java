@@ -0,0 +1,71 @@
+package com.serverstudy.todolist.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// 서버 시작 시 bcrypt 해싱 시간을 측정해서 목표 시간에 맞는 cost(strength)를 결정
+@Slf4j
+@Component
+public class BcryptCostCalibrator {
+
+    // 스프링 기본값(10)보다 낮추지 않음
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+
+    @Getter
+    private final int strength;
+
+    public BcryptCostCalibrator(@Value("${security.bcrypt.target-millis:250}") long targetMillis,
+                                @Value("${security.bcrypt.strength:0}") int fixedStrength) {
+
+        // strength를 직접 설정했으면 측정하지 않음
+        this.strength = (fixedStrength > 0) ? fixedStrength : calibrate(targetMillis);
+        log.info("[로그] bcrypt strength 결정 - strength: {}, target: {}ms", strength, targetMillis);
+    }
+
+    // 저장된 해시에서 cost 추출 ({bcrypt}$2a$10$...), bcrypt 해시가 아니면 -1
+    public static int getCost(String encodedPassword) {
+
+        if (encodedPassword == null || !encodedPassword.startsWith(BCRYPT_PREFIX)) {
+            return -1;
+        }
+        String[] parts = encodedPassword.substring(BCRYPT_PREFIX.length()).split("\\$");
+        try {
+            return (parts.length > 2) ? Integer.parseInt(parts[2]) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // cost가 1 오를 때마다 해싱 시간이 약 2배가 되므로 최소 cost에서 한 번만 측정
+    private int calibrate(long targetMillis) {
+
+        long elapsedMillis = Math.max(1, measure(MIN_STRENGTH));
+        int calibratedStrength = MIN_STRENGTH;
+
+        while (calibratedStrength < MAX_STRENGTH && elapsedMillis * 2 <= targetMillis) {
+            calibratedStrength++;
+            elapsedMillis *= 2;
+        }
+        return calibratedStrength;
+    }
+
+    private long measure(int strength) {
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("calibration");  // 워밍업
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
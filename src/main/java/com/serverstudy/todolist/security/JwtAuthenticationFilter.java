@@ -24,12 +24,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // GenericFi
         String token = jwtTokenProvider.resolveToken(request);
         log.info("[로그] 헤더에서 JWT 토큰 추출 - token: {}", token);
 
-        // 유효한 토큰인지 확인
-        if (token != null && jwtTokenProvider.validateToken(token)) {
+        // 유효한 토큰인지 확인, 서명 검증은 요청 당 한 번만 수행
+        VerifiedToken verifiedToken = (token == null) ? null : jwtTokenProvider.verify(token);
+        if (verifiedToken != null) {
             // 토큰이 유효하면 토큰으로부터 유저 정보를 받아옴
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            // SecurityContext에 Authentication 객체를 저장
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            Authentication authentication = jwtTokenProvider.getAuthentication(verifiedToken);
+            // SecurityContext에 Authentication 객체를 저장, 폐기된 토큰이면 인증하지 않음
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
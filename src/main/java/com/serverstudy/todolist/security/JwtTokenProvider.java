@@ -1,7 +1,11 @@
 package com.serverstudy.todolist.security;
 
+import com.serverstudy.todolist.common.BoundedCache;
+import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.domain.enums.Role;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,13 +16,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 
 @Slf4j
 @Component
@@ -28,43 +37,124 @@ public class JwtTokenProvider {
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
+    // 검증된 토큰 캐시 설정
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl-seconds:600}")
+    private long verifiedCacheTtlSeconds;
+
+    // true면 토큰의 클레임만으로 인증 정보를 만듦 (DB 조회 없음)
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
     // 토큰 유효기간 1년
     private final long TOKEN_VALID_TIME = 12 * 30 * 24 * 60 * 60 * 1000L;
 
     private final UserDetailsService userDetailsService;
+    private final TokenVersionTable tokenVersionTable;
+
+    // 서명 키와 파서는 한 번만 생성해서 재사용 (둘 다 thread-safe)
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // 토큰 다이제스트 -> 검증 결과, 캐시에 있으면 서명 검증을 생략
+    private BoundedCache<String, VerifiedToken> verifiedTokenCache;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
 
     // 객체 초기화, SECRET_KEY를 Base64로 인코딩
     @PostConstruct
     protected void init() {
         SECRET_KEY = Base64.getEncoder().encodeToString(SECRET_KEY.getBytes());
-    }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(this.SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokenCache = new BoundedCache<>(verifiedCacheMaxSize, verifiedCacheTtlSeconds * 1000);
     }
 
-    // JWT 토큰 생성
-    public String createToken(String username) {
+    // JWT 토큰 생성, 유저 id와 권한, 토큰 버전을 함께 담음
+    public String createToken(User user) {
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(Role::getRole).toList())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + TOKEN_VALID_TIME)) // set Expire Time
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    // JWT 토큰에서 인증 정보 조회
-    public Authentication getAuthentication(String token) {
+    // 토큰의 서명 + 만료일자를 한 번에 확인하고 검증된 정보를 반환, 유효하지 않으면 null
+    public VerifiedToken verify(String jwtToken) {
+
+        String digest = digest(jwtToken);
+
+        // 만료 시각이 지나면 캐시에서도 제거되므로 만료일자를 다시 확인할 필요 없음
+        VerifiedToken cachedToken = verifiedTokenCache.get(digest);
+        if (cachedToken != null) {
+            return cachedToken;
+        }
+
+        try {
+            // 만료된 토큰은 파서에서 ExpiredJwtException 발생
+            Claims claims = jwtParser.parseSignedClaims(jwtToken).getPayload();
+            VerifiedToken verifiedToken = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getExpiration().getTime(),
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    getRoles(claims),
+                    claims.get(TOKEN_VERSION_CLAIM, Integer.class));
+            verifiedTokenCache.put(digest, verifiedToken, verifiedToken.expiresAt());
+            return verifiedToken;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 검증된 토큰으로부터 인증 정보 조회, 폐기된 토큰이면 null
+    public Authentication getAuthentication(VerifiedToken verifiedToken) {
+
+        if (verifiedToken.hasUserClaims()) {
+            // 비밀번호 변경, 회원 탈퇴로 폐기된 토큰
+            if (!tokenVersionTable.isCurrent(verifiedToken.userId(), verifiedToken.tokenVersion())) {
+                log.info("[로그] 폐기된 JWT 토큰 - userId: {}", verifiedToken.userId());
+                return null;
+            }
+            if (stateless) {
+                SecurityUser securityUser = new SecurityUser(verifiedToken.userId(), verifiedToken.subject(),
+                        verifiedToken.roles().stream().map(SimpleGrantedAuthority::new).toList());
+                return new UsernamePasswordAuthenticationToken(securityUser, "", securityUser.getAuthorities());
+            }
+        }
+
         log.info("[로그] JWT 토큰에서 인증 정보 조회");
-        UserDetails userDetails = userDetailsService.loadUserByUsername(getUsername(token));
+        UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedToken.subject());
         log.info("[로그] username: {}, authorities: {}", userDetails.getUsername(), userDetails.getAuthorities());
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
+    // JWT 토큰에서 인증 정보 조회
+    public Authentication getAuthentication(String token) {
+        VerifiedToken verifiedToken = verify(token);
+        return verifiedToken == null ? null : getAuthentication(verifiedToken);
+    }
+
     // 토큰에서 회원 정보 추출
     public String getUsername(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload().getSubject();
+        VerifiedToken verifiedToken = verify(token);
+        return verifiedToken == null ? null : verifiedToken.subject();
     }
 
     // Request의 Header에서 token 값을 가져옵니다. "Auth-Token": "TOKEN 값"
@@ -74,12 +164,18 @@ public class JwtTokenProvider {
 
     // 토큰의 유효성 + 만료일자 확인
     public boolean validateToken(String jwtToken) {
-        try {
-            Jws<Claims> claims = Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(jwtToken);
-            return !claims.getPayload().getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(jwtToken) != null;
+    }
+
+    private List<String> getRoles(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return roles == null ? null : roles.stream().map(String::valueOf).toList();
+    }
+
+    // 원본 토큰 대신 SHA-256 다이제스트를 캐시 키로 사용
+    private String digest(String jwtToken) {
+        byte[] hash = SHA_256.get().digest(jwtToken.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
     }
 }
 
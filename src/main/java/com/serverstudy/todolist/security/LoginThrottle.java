@@ -0,0 +1,199 @@
+package com.serverstudy.todolist.security;
+
+import com.serverstudy.todolist.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.serverstudy.todolist.exception.ErrorCode.TOO_MANY_LOGIN_ATTEMPTS;
+
+// 이메일, 클라이언트 주소별 로그인 시도 제한
+// DB 조회와 비밀번호 비교 전에 거절해서 무차별 대입 공격이 CPU를 점유하지 못하게 함
+// 클라이언트 주소는 HttpServletRequest.getRemoteAddr() 값, 프록시 뒤에서는 server.forward-headers-strategy 설정이 필요
+// (X-Forwarded-For를 신뢰할 수 있는 프록시가 있을 때만 설정, 직접 노출된 서버에서 켜면 주소를 위조할 수 있음)
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final RateLimiter emailLimiter;
+    private final RateLimiter addressLimiter;
+    private final Counter rejectedCounter;
+
+    public LoginThrottle(@Value("${security.login-throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${security.login-throttle.email.refill-seconds:60}") long emailRefillSeconds,
+                         @Value("${security.login-throttle.address.capacity:30}") int addressCapacity,
+                         @Value("${security.login-throttle.address.refill-seconds:2}") long addressRefillSeconds,
+                         @Value("${security.login-throttle.max-keys:100000}") int maxKeys,
+                         MeterRegistry meterRegistry) {
+
+        this.emailLimiter = new RateLimiter(emailCapacity, TimeUnit.SECONDS.toNanos(emailRefillSeconds), maxKeys);
+        this.addressLimiter = new RateLimiter(addressCapacity, TimeUnit.SECONDS.toNanos(addressRefillSeconds), maxKeys);
+
+        this.rejectedCounter = Counter.builder("security.login.throttle.rejected")
+                .description("로그인 시도 제한으로 거절된 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("security.login.throttle.keys", this, throttle -> throttle.emailLimiter.size() + throttle.addressLimiter.size())
+                .description("로그인 시도 제한 키 개수")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.login.throttle.evicted", this,
+                        throttle -> throttle.emailLimiter.getEvictionCount() + throttle.addressLimiter.getEvictionCount())
+                .description("키 개수 초과로 버려진 가득 찬 버킷 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.login.throttle.overflow", this,
+                        throttle -> throttle.emailLimiter.getOverflowCount() + throttle.addressLimiter.getOverflowCount())
+                .description("키 개수가 가득 차 거절된 새 키의 요청 수")
+                .register(meterRegistry);
+    }
+
+    // 허용되지 않으면 429 예외
+    public void check(String email, String clientAddress) {
+
+        long now = System.nanoTime();
+
+        if (!addressLimiter.tryAcquire(String.valueOf(clientAddress), now)
+                || !emailLimiter.tryAcquire(normalize(email), now)) {
+            rejectedCounter.increment();
+            log.warn("[로그] 로그인 시도 제한 - email: {}, address: {}", email, clientAddress);
+            throw new CustomException(TOO_MANY_LOGIN_ATTEMPTS);
+        }
+    }
+
+    // 로그인 성공 시 해당 이메일의 시도 횟수 초기화
+    public void reset(String email) {
+        emailLimiter.reset(normalize(email));
+    }
+
+    // 가득 찬(= 한동안 시도가 없던) 버킷 제거
+    @Scheduled(fixedDelayString = "${security.login-throttle.cleanup-millis:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        emailLimiter.evictIdle(now);
+        addressLimiter.evictIdle(now);
+    }
+
+    private String normalize(String email) {
+        return String.valueOf(email).trim().toLowerCase(Locale.ROOT);
+    }
+
+    // GCRA 방식의 토큰 버킷, 키마다 다음 토큰이 모두 채워지는 시각(TAT) 하나만 저장
+    // 키를 해시로 나눈 stripe마다 LRU 맵과 락을 따로 두어, 요청 경로에서는 O(1) 작업만 stripe 락 안에서 수행
+    // stripe가 가득 차면 오래 사용되지 않은 키부터 SCAN_LIMIT개 중 가득 찬(= 새로 만든 것과 같은) 버킷만 버림
+    // 토큰을 쓴 버킷은 버리지 않고 새 키를 거절 (키를 대량으로 바꿔가며 시도해서 다른 키의 제한을 초기화하지 못하도록 fail closed)
+    static class RateLimiter {
+
+        private static final int STRIPES = 16;
+        private static final int SCAN_LIMIT = 16;
+
+        private final Stripe[] stripes = new Stripe[STRIPES];
+        private final long intervalNanos;
+        private final long burstToleranceNanos;
+        private final LongAdder evictionCount = new LongAdder();
+        private final LongAdder overflowCount = new LongAdder();
+
+        RateLimiter(int capacity, long intervalNanos, int maxKeys) {
+            this.intervalNanos = intervalNanos;
+            this.burstToleranceNanos = (capacity - 1) * intervalNanos;
+            int stripeCapacity = Math.max(1, maxKeys / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(stripeCapacity);
+            }
+        }
+
+        boolean tryAcquire(String key, long now) {
+
+            Stripe stripe = stripeOf(key);
+            // 조회와 갱신을 같은 락 안에서 수행하므로 정리 중인 버킷에 갱신이 유실되지 않음
+            synchronized (stripe) {
+                Long theoreticalArrival = stripe.get(key);
+                if (theoreticalArrival == null && stripe.isFull() && !stripe.evictFullBucket(now)) {
+                    overflowCount.increment();
+                    return false;
+                }
+                long base = (theoreticalArrival == null) ? now : Math.max(theoreticalArrival, now);
+                if (base - now > burstToleranceNanos) {
+                    return false;
+                }
+                stripe.put(key, base + intervalNanos);
+                return true;
+            }
+        }
+
+        void reset(String key) {
+            Stripe stripe = stripeOf(key);
+            synchronized (stripe) {
+                stripe.remove(key);
+            }
+        }
+
+        // 가득 찬 버킷은 새로 만든 버킷과 같으므로 제거해도 결과가 같음, 요청 경로가 아닌 스케줄러에서만 호출
+        void evictIdle(long now) {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.values().removeIf(theoreticalArrival -> theoreticalArrival - now <= 0);
+                }
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    size += stripe.size();
+                }
+            }
+            return size;
+        }
+
+        long getEvictionCount() {
+            return evictionCount.sum();
+        }
+
+        long getOverflowCount() {
+            return overflowCount.sum();
+        }
+
+        private Stripe stripeOf(String key) {
+            int hash = key.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        }
+
+        // accessOrder = true -> 조회할 때마다 가장 뒤로 이동 (LRU)
+        private class Stripe extends LinkedHashMap<String, Long> {
+
+            private final int capacity;
+
+            Stripe(int capacity) {
+                super(16, 0.75f, true);
+                this.capacity = capacity;
+            }
+
+            boolean isFull() {
+                return size() >= capacity;
+            }
+
+            // 가장 오래 사용되지 않은 쪽부터 가득 찬 버킷을 찾아서 제거, 없으면 false
+            boolean evictFullBucket(long now) {
+                Iterator<Long> iterator = values().iterator();
+                for (int i = 0; i < SCAN_LIMIT && iterator.hasNext(); i++) {
+                    if (iterator.next() - now <= 0) {
+                        iterator.remove();
+                        evictionCount.increment();
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.serverstudy.todolist.security;
+
+import com.serverstudy.todolist.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+
+import static com.serverstudy.todolist.exception.ErrorCode.PASSWORD_HASHING_BUSY;
+
+// 비밀번호 해싱(bcrypt)을 전용 스레드 풀에서 수행해서 동시에 해싱하는 수(CPU 사용량)를 제한
+// 요청 스레드는 해싱이 끝날 때까지 결과를 기다리므로 요청 스레드를 아끼지는 않음
+// 대신 풀과 대기 큐가 가득 차면 기다리지 않고 바로 503 응답해서, 로그인이 몰려도 요청 스레드가 해싱 대기로 쌓이지 않음
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final BcryptCostCalibrator bcryptCostCalibrator;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          BcryptCostCalibrator bcryptCostCalibrator,
+                          @Value("${security.password-hashing.pool-size:0}") int poolSize,
+                          @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password-hashing.timeout-millis:5000}") long timeoutMillis,
+                          MeterRegistry meterRegistry) {
+
+        // pool-size가 0이면 CPU 코어 수만큼 사용
+        int threads = (poolSize > 0) ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptCostCalibrator = bcryptCostCalibrator;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("security.password.hashing.duration")
+                .description("비밀번호 해싱 소요 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("security.password.hashing.rejected")
+                .description("풀이 가득 차 거절된 해싱 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("해싱 대기 큐 크기")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("해싱 중인 스레드 수")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 해시의 cost가 현재 설정된 strength보다 낮거나 bcrypt가 아니면(cost -1) 다시 해싱해야 함
+    // 더 높은 cost로 저장된 해시는 낮추지 않음, 서버마다 측정값이 달라도 로그인마다 다시 해싱하지 않도록
+    public boolean needsRehash(String encodedPassword) {
+        return BcryptCostCalibrator.getCost(encodedPassword) < bcryptCostCalibrator.getStrength();
+    }
+
+    private <T> T execute(Callable<T> task) {
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("[로그] 비밀번호 해싱 풀 포화 - queue: {}", executor.getQueue().size());
+            throw new CustomException(PASSWORD_HASHING_BUSY);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new CustomException(PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CustomException(PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
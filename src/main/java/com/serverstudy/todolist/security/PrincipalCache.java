@@ -0,0 +1,94 @@
+package com.serverstudy.todolist.security;
+
+import com.serverstudy.todolist.common.BoundedCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 이메일 -> SecurityUser 캐시, JWT 인증 시 매 요청마다 DB를 조회하지 않도록 함
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final BoundedCache<String, SecurityUser> cache;
+
+    // userId -> 이메일 인덱스, 유저 단위 삭제를 전체 순회 없이 O(1)로 처리
+    // 캐시에서 항목이 제거되면 같이 제거되므로 캐시 크기를 넘지 않음
+    private final Map<Long, String> emailsByUserId = new ConcurrentHashMap<>();
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          MeterRegistry meterRegistry) {
+
+        this.cache = new BoundedCache<>(maxSize, ttlSeconds * 1000,
+                (email, securityUser) -> emailsByUserId.remove(securityUser.getId(), email));
+
+        FunctionCounter.builder("security.principal.cache.hits", cache, BoundedCache::getHitCount)
+                .description("인증 정보 캐시 적중 횟수")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.principal.cache.misses", cache, BoundedCache::getMissCount)
+                .description("인증 정보 캐시 미스 횟수")
+                .register(meterRegistry);
+        Gauge.builder("security.principal.cache.size", cache, BoundedCache::size)
+                .description("인증 정보 캐시 크기")
+                .register(meterRegistry);
+    }
+
+    public SecurityUser get(String email) {
+        return cache.get(email);
+    }
+
+    public void put(SecurityUser securityUser) {
+        // 인덱스를 먼저 등록해야 캐시에 들어간 항목이 evict에서 누락되지 않음
+        emailsByUserId.put(securityUser.getId(), securityUser.getUsername());
+        cache.put(securityUser.getUsername(), securityUser);
+    }
+
+    public void evict(Long userId) {
+        log.info("[로그] 인증 정보 캐시 삭제 - userId: {}", userId);
+        String email = emailsByUserId.remove(userId);
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    // 커밋 전에 삭제하면 커밋 전의 값을 다시 읽어 캐시할 수 있으므로 커밋 후에 삭제
+    public void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    public void evictAll() {
+        log.info("[로그] 인증 정보 캐시 전체 삭제");
+        cache.invalidateAll();
+        emailsByUserId.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+}
@@ -1,5 +1,6 @@
 package com.serverstudy.todolist.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -13,11 +14,15 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity  // 시큐리티 활성화 -> 기본 스프링 필터체인에 등록
 @RequiredArgsConstructor
@@ -31,10 +36,15 @@ public class SecurityConfig {
 
     // 비밀번호 암호화
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // bcrypt가 기본 인코더인 DelegatingPasswordEncoder의 구현을 반환하는 정적 메서드 createDelegatingPasswordEncoder()
-        // return new BCryptPasswordEncoder();와 동일
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(BcryptCostCalibrator bcryptCostCalibrator) {
+        // bcrypt가 기본 인코더인 DelegatingPasswordEncoder, 저장 형식({bcrypt}$2a$...)은 기존과 동일
+        // strength는 서버 시작 시 측정한 값을 사용
+        String encodingId = "bcrypt";
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId,
+                Map.of(encodingId, new BCryptPasswordEncoder(bcryptCostCalibrator.getStrength())));
+        // bcrypt가 아닌 해시({noop}, {pbkdf2}, {scrypt} 등)는 스프링 기본 인코더 목록으로 검증
+        passwordEncoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return passwordEncoder;
     }
 
     // authenticationManager를 Bean 등록
@@ -49,6 +59,8 @@ public class SecurityConfig {
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(requests -> {
+                    // 스트리밍 응답(StreamingResponseBody)의 비동기 디스패치, 최초 요청에서 이미 인가됨
+                    requests.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     requests.requestMatchers(HttpMethod.POST,"api/users").permitAll();  // 회원가입
                     requests.requestMatchers(HttpMethod.GET,"api/users/check-email").permitAll();   // 이메일 중복 검사
                     requests.requestMatchers(HttpMethod.POST,"api/users/admin").permitAll();    // 관리자 로그인
@@ -2,24 +2,29 @@ package com.serverstudy.todolist.security;
 
 import com.serverstudy.todolist.domain.User;
 import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.util.Collection;
 import java.util.stream.Collectors;
 
 
+// 인증 이후 요청 처리에 필요한 정보(id, 이메일, 권한)만 보관, 엔티티와 비밀번호 해시는 보관하지 않음
 @Getter
 public class SecurityUser extends org.springframework.security.core.userdetails.User {
 
-    private final User user;
     private final Long id;
 
     public SecurityUser(User user) {
-        super(user.getEmail(), user.getPassword(),
+        this(user.getId(), user.getEmail(),
                 user.getRoles().stream()
                         .map(role -> new SimpleGrantedAuthority(role.getRole()))
                         .collect(Collectors.toSet()));
-        this.user = user;
-        this.id = user.getId();
+    }
+
+    public SecurityUser(Long id, String email, Collection<? extends GrantedAuthority> authorities) {
+        super(email, "", authorities);
+        this.id = id;
     }
 
 }
@@ -15,14 +15,23 @@ import org.springframework.stereotype.Service;
 public class SecurityUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
+        SecurityUser cachedUser = principalCache.get(username);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+
         log.info("[로그] SecurityUserDetailsService.loadUserByUsername() - username: {}", username);
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("[" + username + "] 사용자를 찾을 수 없습니다."));
 
-        return new SecurityUser(user);
+        SecurityUser securityUser = new SecurityUser(user);
+        principalCache.put(securityUser);
+
+        return securityUser;
     }
 }
@@ -0,0 +1,103 @@
+package com.serverstudy.todolist.security;
+
+import com.serverstudy.todolist.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// userId -> 현재 토큰 버전, 토큰의 버전과 다르면 폐기된 토큰으로 판단
+// 크기가 고정된 direct-mapped 테이블, 슬롯이 겹치면 덮어쓰고 없는 유저는 DB에서 다시 읽어옴 (DB가 원본)
+@Slf4j
+@Component
+public class TokenVersionTable {
+
+    // 삭제된 유저 표시용 버전, 실제 버전은 0 이상
+    private static final int REVOKED = -1;
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+
+    private final UserRepository userRepository;
+
+    public TokenVersionTable(@Value("${security.token-version.capacity:65536}") int capacity,
+                             UserRepository userRepository) {
+
+        if (capacity <= 0) throw new IllegalArgumentException("capacity는 0보다 커야 합니다.");
+
+        // 2의 거듭제곱으로 올림
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.userRepository = userRepository;
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+
+        int index = indexOf(userId);
+        Slot slot = slots.get(index);
+        int currentVersion;
+        if (slot != null && slot.userId() == userId) {
+            currentVersion = slot.version();
+        } else {
+            // 테이블에 없으면 DB에서 읽어옴, 존재하지 않는 유저는 폐기 상태로 저장
+            currentVersion = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+            // 읽는 동안 update/revoke가 슬롯을 바꿨으면 이전 값으로 덮어쓰지 않음
+            slots.compareAndSet(index, slot, new Slot(userId, currentVersion));
+        }
+        return currentVersion != REVOKED && currentVersion == tokenVersion;
+    }
+
+    public void update(long userId, int tokenVersion) {
+        log.info("[로그] 토큰 버전 변경 - userId: {}, version: {}", userId, tokenVersion);
+        slots.set(indexOf(userId), new Slot(userId, tokenVersion));
+    }
+
+    public void revoke(long userId) {
+        log.info("[로그] 토큰 폐기 - userId: {}", userId);
+        slots.set(indexOf(userId), new Slot(userId, REVOKED));
+    }
+
+    // 커밋 전에 반영하면 롤백 시 DB와 달라지므로 커밋 후에 반영, 트랜잭션 밖이면 바로 반영
+    public void updateAfterCommit(long userId, int tokenVersion) {
+        runAfterCommit(() -> update(userId, tokenVersion));
+    }
+
+    public void revokeAfterCommit(long userId) {
+        runAfterCommit(() -> revoke(userId));
+    }
+
+    // 전체 초기화, 이후 요청부터 DB에서 다시 읽어옴
+    public void clear() {
+        log.info("[로그] 토큰 버전 테이블 초기화");
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private int indexOf(long userId) {
+        // Snowflake id의 하위 비트는 시퀀스라 편중되므로 섞어서 사용
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static void runAfterCommit(Runnable action) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Slot(long userId, int version) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.serverstudy.todolist.security;
+
+import java.util.List;
+
+// 서명 검증이 끝난 토큰의 정보
+// userId, roles, tokenVersion은 이전 형식의 토큰(subject만 포함)에서는 null
+public record VerifiedToken(String subject, long expiresAt, Long userId, List<String> roles, Integer tokenVersion) {
+
+    // DB 조회 없이 인증 정보를 만들 수 있는 토큰인지 확인
+    public boolean hasUserClaims() {
+        return userId != null && roles != null && tokenVersion != null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.dto.response.UserPurgeRes;
+import com.serverstudy.todolist.dto.response.UserPurgeRes.Status;
+import com.serverstudy.todolist.repository.TodoRepository;
+import com.serverstudy.todolist.repository.UserRepository;
+import com.serverstudy.todolist.security.PrincipalCache;
+import com.serverstudy.todolist.security.TokenVersionTable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 관리자를 제외한 모든 유저와 모든 투두를 백그라운드에서 삭제
+// 유저 -> 투두 순서로, 시작 시점의 최대 id까지 id 순서로 chunk-size개씩 나눠서 짧은 트랜잭션으로 삭제
+// 한 번에 메모리에 올리는 것은 id chunk-size개뿐이라 테이블 크기와 상관없이 메모리 사용량과 락 유지 시간이 일정
+// 취소하면 현재 chunk까지만 삭제하고 멈춤, 삭제 도중 가입한 유저와 생성된 투두는 삭제하지 않음
+@Slf4j
+@Component
+public class AllUsersPurger {
+
+    private final UserRepository userRepository;
+    private final TodoRepository todoRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionTable tokenVersionTable;
+    private final UserEmailFilter userEmailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    private final ExecutorService executor;
+    // 진행 중이거나 마지막으로 실행한 작업
+    private volatile PurgeJob lastJob;
+
+    public AllUsersPurger(UserRepository userRepository,
+                          TodoRepository todoRepository,
+                          PrincipalCache principalCache,
+                          TokenVersionTable tokenVersionTable,
+                          UserEmailFilter userEmailFilter,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${user.purge.chunk-size:1000}") int chunkSize) {
+
+        this.userRepository = userRepository;
+        this.todoRepository = todoRepository;
+        this.principalCache = principalCache;
+        this.tokenVersionTable = tokenVersionTable;
+        this.userEmailFilter = userEmailFilter;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-purge-"));
+    }
+
+    // 이미 진행 중이면 진행 중인 작업을 반환
+    public synchronized UserPurgeRes start() {
+
+        PurgeJob job = lastJob;
+        if (job != null && job.status == Status.RUNNING) {
+            return job.toRes();
+        }
+
+        // 삭제 범위는 어떤 삭제보다도 먼저 정해서, 삭제 도중 가입한 유저와 생성된 투두가 범위에 들어가지 않게 함
+        PurgeJob newJob = new PurgeJob(userRepository.findMaxId(), todoRepository.findMaxId());
+        lastJob = newJob;
+        log.info("[로그] 모든 유저 삭제 시작 - maxUserId: {}, maxTodoId: {}", newJob.maxUserId, newJob.maxTodoId);
+        executor.execute(() -> run(newJob));
+
+        return newJob.toRes();
+    }
+
+    public UserPurgeRes getStatus() {
+
+        PurgeJob job = lastJob;
+        return (job == null) ? null : job.toRes();
+    }
+
+    public UserPurgeRes cancel() {
+
+        PurgeJob job = lastJob;
+        if (job == null) return null;
+
+        if (job.status == Status.RUNNING) {
+            log.info("[로그] 모든 유저 삭제 취소 요청");
+            job.cancelled = true;
+        }
+        return job.toRes();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(PurgeJob job) {
+
+        try {
+            deleteUsers(job);
+            deleteTodos(job);
+            job.finish(isStopped(job) ? Status.CANCELLED : Status.COMPLETED);
+        } catch (RuntimeException e) {
+            job.finish(Status.FAILED);
+            log.error("[로그] 모든 유저 삭제 실패 - users: {}, todos: {}", job.deletedUsers.get(), job.deletedTodos.get(), e);
+        } finally {
+            principalCache.evictAll();
+            tokenVersionTable.clear();
+            userEmailFilter.markAllRemoved();
+            eventPublisher.publishEvent(TodoChangedEvent.allCleared());
+            log.info("[로그] 모든 유저 삭제 종료 - status: {}, users: {}, todos: {}",
+                    job.status, job.deletedUsers.get(), job.deletedTodos.get());
+        }
+    }
+
+    // 유저를 먼저 삭제해서 로그인, 투두 생성을 막음
+    private void deleteUsers(PurgeJob job) {
+
+        long maxId = job.maxUserId;
+        long afterId = 0;
+        while (!isStopped(job)) {
+            long from = afterId;
+            List<Long> deletedIds = transaction.execute(status -> {
+                List<Long> userIds = userRepository.findIdsExceptAdmin(from, maxId, Limit.of(chunkSize));
+                if (userIds.isEmpty()) return userIds;
+
+                userRepository.deleteRolesByUserIdIn(userIds);
+                job.deletedUsers.addAndGet(userRepository.deleteAllByIdIn(userIds));
+                return userIds;
+            });
+            if (deletedIds == null || deletedIds.isEmpty()) break;
+            afterId = deletedIds.get(deletedIds.size() - 1);
+            // 커밋된 청크의 유저만 캐시된 인증 정보 제거, 토큰 폐기
+            for (Long userId : deletedIds) {
+                principalCache.evict(userId);
+                tokenVersionTable.revoke(userId);
+            }
+        }
+    }
+
+    private void deleteTodos(PurgeJob job) {
+
+        long maxId = job.maxTodoId;
+        long afterId = 0;
+        while (!isStopped(job)) {
+            long from = afterId;
+            Long lastId = transaction.execute(status -> {
+                List<Long> todoIds = todoRepository.findIds(from, maxId, Limit.of(chunkSize));
+                if (todoIds.isEmpty()) return null;
+
+                long last = todoIds.get(todoIds.size() - 1);
+                job.deletedTodos.addAndGet(todoRepository.deleteAllByIdRange(from, last));
+                return last;
+            });
+            if (lastId == null) break;
+            afterId = lastId;
+        }
+    }
+
+    private boolean isStopped(PurgeJob job) {
+        return job.cancelled || Thread.currentThread().isInterrupted();
+    }
+
+    private static final class PurgeJob {
+
+        private final long maxUserId;
+        private final long maxTodoId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong deletedUsers = new AtomicLong();
+        private final AtomicLong deletedTodos = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Status status = Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+
+        private PurgeJob(long maxUserId, long maxTodoId) {
+            this.maxUserId = maxUserId;
+            this.maxTodoId = maxTodoId;
+        }
+
+        private void finish(Status status) {
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private UserPurgeRes toRes() {
+            return UserPurgeRes.builder()
+                    .status(status)
+                    .deletedUsers(deletedUsers.get())
+                    .deletedTodos(deletedTodos.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.serverstudy.todolist.service;
+
+import java.time.LocalDateTime;
+
+// 마감 기한 알림, 마감 기한 전 일정 시간(DUE_SOON)과 마감 기한(OVERDUE)에 한 번씩 발생
+public record DeadlineReminder(Type type, Long userId, Long todoId, String title, LocalDateTime deadline) {
+
+    public enum Type {
+        DUE_SOON, OVERDUE
+    }
+}
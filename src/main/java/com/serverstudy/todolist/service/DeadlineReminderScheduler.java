@@ -0,0 +1,260 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.TimingWheel;
+import com.serverstudy.todolist.common.TimingWheel.Timeout;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import com.serverstudy.todolist.repository.TodoRepository;
+import com.serverstudy.todolist.repository.TodoRepository.TodoDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// 완료되지 않은 투두의 마감 기한 알림 스케줄러
+// 마감 기한 lead-minutes 전에 DUE_SOON, 마감 기한에 OVERDUE 알림을 보냄
+// 서버 시작 시 마감 기한이 남은 TODO 투두를 읽어서 타이밍 휠에 등록하고, 이후에는 투두 변경 이벤트로 커밋 후 갱신
+// 이미 마감 기한이 지난 투두는 등록하지 않음 (기한 지난 투두 목록 조회로 확인)
+@Slf4j
+@Component
+public class DeadlineReminderScheduler {
+
+    private final TodoRepository todoRepository;
+    private final DeadlineReminderSink sink;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long tickMillis;
+    private final long leadMillis;
+
+    // 휠에는 다음에 보낼 알림을 등록, todoId -> 등록된 항목 (투두당 하나)
+    private final TimingWheel<DeadlineReminder> wheel;
+    private final ConcurrentHashMap<Long, Timeout<DeadlineReminder>> timeouts = new ConcurrentHashMap<>();
+    // userId -> 등록된 todoId, 유저 투두 전체 삭제 시 그 유저의 항목만 취소
+    // 집합은 compute 안에서만 변경하고, 비면 키를 지움
+    private final ConcurrentHashMap<Long, Set<Long>> todoIdsByUserId = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    // 서버 시작 시 읽는 도중 변경된 투두, 유저, 읽은 값보다 이벤트가 최신이므로 읽은 값은 무시
+    private volatile Set<Long> changedTodosWhileLoading;
+    private volatile Set<Long> changedUsersWhileLoading;
+    private volatile boolean clearedWhileLoading;
+
+    private final Timer lagTimer;
+    private final Map<DeadlineReminder.Type, Counter> firedCounters = new EnumMap<>(DeadlineReminder.Type.class);
+
+    public DeadlineReminderScheduler(TodoRepository todoRepository,
+                                     DeadlineReminderSink sink,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${todo.reminder.tick-millis:1000}") long tickMillis,
+                                     @Value("${todo.reminder.lead-minutes:60}") long leadMinutes,
+                                     MeterRegistry meterRegistry) {
+
+        this.todoRepository = todoRepository;
+        this.sink = sink;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tickMillis = tickMillis;
+        this.leadMillis = TimeUnit.MINUTES.toMillis(leadMinutes);
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("deadline-reminder-"));
+
+        Gauge.builder("todo.reminder.wheel.size", wheel, TimingWheel::size)
+                .description("타이밍 휠에 등록된 알림 수")
+                .register(meterRegistry);
+        for (int level = 0; level < wheel.getLevels(); level++) {
+            int wheelLevel = level;
+            Gauge.builder("todo.reminder.wheel.occupancy", wheel, w -> w.size(wheelLevel))
+                    .description("타이밍 휠 레벨별 등록된 알림 수")
+                    .tag("level", String.valueOf(level))
+                    .register(meterRegistry);
+        }
+        this.lagTimer = Timer.builder("todo.reminder.firing.lag")
+                .description("알림 예정 시각과 실제 발생 시각의 차이")
+                .register(meterRegistry);
+        for (DeadlineReminder.Type type : DeadlineReminder.Type.values()) {
+            firedCounters.put(type, Counter.builder("todo.reminder.fired")
+                    .description("발생한 마감 기한 알림 수")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+
+        changedTodosWhileLoading = ConcurrentHashMap.newKeySet();
+        changedUsersWhileLoading = ConcurrentHashMap.newKeySet();
+        clearedWhileLoading = false;
+
+        AtomicLong count = new AtomicLong();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TodoDeadline> deadlines = todoRepository.streamPendingDeadlines(LocalDateTime.now())) {
+                deadlines.forEach(todo -> {
+                    if (clearedWhileLoading
+                            || changedTodosWhileLoading.contains(todo.getId())
+                            || changedUsersWhileLoading.contains(todo.getUserId())) {
+                        return;
+                    }
+                    schedule(todo.getUserId(), todo.getId(), todo.getTitle(), todo.getDeadline());
+                    count.incrementAndGet();
+                });
+            }
+        });
+
+        changedTodosWhileLoading = null;
+        changedUsersWhileLoading = null;
+
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("[로그] 마감 기한 알림 등록 - count: {}", count.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+
+        switch (event.type()) {
+            case ALL_CLEARED -> {
+                clearedWhileLoading = true;
+                // 휠을 먼저 비움, 그 사이에 등록된 항목은 timeouts에서 지워지므로 만료되어도 보내지 않음
+                wheel.clear();
+                timeouts.clear();
+                todoIdsByUserId.clear();
+            }
+            case USER_CLEARED -> {
+                Set<Long> changedUsers = changedUsersWhileLoading;
+                if (changedUsers != null) changedUsers.add(event.userId());
+                Set<Long> todoIds = todoIdsByUserId.remove(event.userId());
+                if (todoIds == null) return;
+                for (Long todoId : todoIds) {
+                    Timeout<DeadlineReminder> timeout = timeouts.remove(todoId);
+                    if (timeout != null) wheel.cancel(timeout);
+                }
+            }
+            default -> {
+                Set<Long> changedTodos = changedTodosWhileLoading;
+                if (changedTodos != null) changedTodos.add(event.todoId());
+
+                TodoRes after = event.after();
+                if (event.type() == TodoChangedEvent.Type.DELETED) {
+                    cancel(event.todoId());
+                } else if (after != null) {
+                    sync(event.userId(), after.getId(), after.getTitle(), after.getDeadline(), after.getProgress());
+                } else {
+                    // 변경 후 상태를 모르면 다시 조회
+                    todoRepository.findById(event.todoId()).ifPresentOrElse(
+                            todo -> sync(todo.getUserId(), todo.getId(), todo.getTitle(), todo.getDeadline(), todo.getProgress()),
+                            () -> cancel(event.todoId()));
+                }
+            }
+        }
+    }
+
+    private void sync(long userId, long todoId, String title, LocalDateTime deadline, Progress progress) {
+
+        if (progress == Progress.TODO && deadline != null) {
+            schedule(userId, todoId, title, deadline);
+        } else {
+            cancel(todoId);
+        }
+    }
+
+    // 마감 기한까지 lead-minutes보다 적게 남았으면 DUE_SOON 알림은 다음 틱에 바로 발생
+    private void schedule(long userId, long todoId, String title, LocalDateTime deadline) {
+
+        long now = System.currentTimeMillis();
+        long deadlineMillis = toMillis(deadline);
+        if (deadlineMillis <= now) {
+            cancel(todoId);
+            return;
+        }
+
+        DeadlineReminder reminder = new DeadlineReminder(DeadlineReminder.Type.DUE_SOON, userId, todoId, title, deadline);
+        Timeout<DeadlineReminder> timeout = wheel.schedule(reminder, Math.max(now, deadlineMillis - leadMillis));
+
+        Timeout<DeadlineReminder> previous = timeouts.put(todoId, timeout);
+        if (previous != null) wheel.cancel(previous);
+        todoIdsByUserId.compute(userId, (key, todoIds) -> {
+            if (todoIds == null) todoIds = new HashSet<>();
+            todoIds.add(todoId);
+            return todoIds;
+        });
+    }
+
+    private void cancel(long todoId) {
+
+        Timeout<DeadlineReminder> timeout = timeouts.remove(todoId);
+        if (timeout == null) return;
+        wheel.cancel(timeout);
+        unindex(timeout.getValue());
+    }
+
+    private void unindex(DeadlineReminder reminder) {
+        todoIdsByUserId.computeIfPresent(reminder.userId(), (key, todoIds) -> {
+            todoIds.remove(reminder.todoId());
+            return todoIds.isEmpty() ? null : todoIds;
+        });
+    }
+
+    private void tick() {
+
+        try {
+            long now = System.currentTimeMillis();
+
+            for (Timeout<DeadlineReminder> timeout : wheel.advance(now)) {
+                DeadlineReminder reminder = timeout.getValue();
+
+                // 그 사이에 변경, 취소되었으면 보내지 않음
+                if (reminder.type() == DeadlineReminder.Type.DUE_SOON) {
+                    DeadlineReminder overdue = new DeadlineReminder(DeadlineReminder.Type.OVERDUE,
+                            reminder.userId(), reminder.todoId(), reminder.title(), reminder.deadline());
+                    Timeout<DeadlineReminder> next = wheel.schedule(overdue, toMillis(reminder.deadline()));
+                    if (!timeouts.replace(reminder.todoId(), timeout, next)) {
+                        wheel.cancel(next);
+                        continue;
+                    }
+                } else if (timeouts.remove(reminder.todoId(), timeout)) {
+                    unindex(reminder);
+                } else {
+                    continue;
+                }
+
+                lagTimer.record(Math.max(0, now - timeout.getDeadlineMillis()), TimeUnit.MILLISECONDS);
+                firedCounters.get(reminder.type()).increment();
+                sink.send(reminder);
+            }
+        } catch (RuntimeException e) {
+            // 예외가 밖으로 나가면 이후 틱이 실행되지 않음
+            log.error("[로그] 마감 기한 알림 처리 실패", e);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package com.serverstudy.todolist.service;
+
+// 마감 기한 알림을 받는 곳, todo.reminder.sink 설정으로 선택 (log | queue)
+// 타이밍 휠 스레드에서 호출되므로 오래 걸리는 작업은 다른 스레드로 넘겨야 함
+public interface DeadlineReminderSink {
+
+    void send(DeadlineReminder reminder);
+}
@@ -0,0 +1,18 @@
+package com.serverstudy.todolist.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 알림을 로그로만 남김 (기본값)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.reminder.sink", havingValue = "log", matchIfMissing = true)
+public class LogDeadlineReminderSink implements DeadlineReminderSink {
+
+    @Override
+    public void send(DeadlineReminder reminder) {
+        log.info("[로그] 마감 기한 알림 - type: {}, userId: {}, todoId: {}, deadline: {}",
+                reminder.type(), reminder.userId(), reminder.todoId(), reminder.deadline());
+    }
+}
@@ -0,0 +1,94 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+// progress_ordinal 컬럼 추가 이전에 저장된 투두의 값을 채우고 컬럼을 NOT NULL로 변경
+// 웹 서버가 요청을 받기 전(모든 빈 생성 직후)에 실행해서, 값이 비어있는 투두가 목록 정렬에서 섞이지 않게 함
+// 컬럼이 이미 NOT NULL이어도 기본값(0)으로 채워졌을 수 있으므로 메타데이터와 관계없이 progress와 비교해서 채움
+@Slf4j
+@Component
+public class ProgressOrdinalBackfill implements SmartInitializingSingleton {
+
+    private static final String TABLE = "todo_tb";
+    private static final String COLUMN = "progress_ordinal";
+
+    private final TodoRepository todoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    public ProgressOrdinalBackfill(TodoRepository todoRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${todo.progress-ordinal.backfill-chunk-size:1000}") int chunkSize) {
+
+        this.todoRepository = todoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        long start = System.currentTimeMillis();
+        long count = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            // 청크마다 짧은 트랜잭션으로 실행해서 락과 undo 로그를 작게 유지
+            List<Long> todoIds = transaction.execute(status -> {
+                List<Long> ids = todoRepository.findIdsWithWrongProgressOrdinal(from, Limit.of(chunkSize));
+                if (!ids.isEmpty()) {
+                    todoRepository.fillProgressOrdinalByIdIn(ids);
+                }
+                return ids;
+            });
+            if (todoIds == null || todoIds.isEmpty()) break;
+            count += todoIds.size();
+            afterId = todoIds.get(todoIds.size() - 1);
+        }
+        log.info("[로그] 투두 진행 상황 순서 채우기 - count: {}, {}ms", count, System.currentTimeMillis() - start);
+
+        // 이미 NOT NULL이면 테이블을 다시 만들지 않도록 변경 생략
+        if (!isNullable()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN " + COLUMN + " INT NOT NULL");
+            log.info("[로그] {}.{} NOT NULL 변경", TABLE, COLUMN);
+        } catch (DataAccessException e) {
+            // 권한이 없으면 값만 채운 상태로 두고 다음 시작 때 다시 확인
+            log.warn("[로그] {}.{} NOT NULL 변경 실패 - {}", TABLE, COLUMN, e.getMessage());
+        }
+    }
+
+    // 컬럼 메타데이터만 조회, 컬럼이 없으면(스키마 생성 전) false
+    private boolean isNullable() {
+
+        Boolean nullable = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    upperCase ? TABLE.toUpperCase() : TABLE,
+                    upperCase ? COLUMN.toUpperCase() : COLUMN)) {
+                return columns.next() && columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
+            }
+        });
+        return Boolean.TRUE.equals(nullable);
+    }
+}
@@ -0,0 +1,52 @@
+package com.serverstudy.todolist.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// 알림을 메모리 큐에 쌓아두고 다른 곳(웹훅 전송, 푸시 등)에서 꺼내 가도록 함
+// 큐가 가득 차면 가장 오래된 알림을 버림
+@Component
+@ConditionalOnProperty(name = "todo.reminder.sink", havingValue = "queue")
+public class QueueDeadlineReminderSink implements DeadlineReminderSink {
+
+    private final BlockingQueue<DeadlineReminder> queue;
+    private final Counter droppedCounter;
+
+    public QueueDeadlineReminderSink(@Value("${todo.reminder.queue-capacity:10000}") int capacity,
+                                     MeterRegistry meterRegistry) {
+
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.droppedCounter = Counter.builder("todo.reminder.queue.dropped")
+                .description("큐가 가득 차 버려진 마감 기한 알림 수")
+                .register(meterRegistry);
+        Gauge.builder("todo.reminder.queue.size", queue, BlockingQueue::size)
+                .description("마감 기한 알림 큐 크기")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void send(DeadlineReminder reminder) {
+
+        while (!queue.offer(reminder)) {
+            if (queue.poll() != null) droppedCounter.increment();
+        }
+    }
+
+    // 최대 maxCount개를 꺼냄
+    public List<DeadlineReminder> drain(int maxCount) {
+
+        List<DeadlineReminder> reminders = new ArrayList<>();
+        queue.drainTo(reminders, maxCount);
+        return reminders;
+    }
+}
@@ -0,0 +1,47 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.dto.response.TodoRes;
+
+// 투두 변경 이벤트, 트랜잭션 커밋 후 캐시 등을 갱신하는 데 사용
+// before, after는 변경 전/후 투두 상태이며 알 수 없거나 해당 없으면 null
+public record TodoChangedEvent(Type type, Long userId, Long todoId, TodoRes before, TodoRes after) {
+
+    public enum Type {
+        CREATED, UPDATED, PROGRESS_SWITCHED, DELETED,
+        USER_CLEARED,   // 한 유저의 투두 전체 삭제
+        ALL_CLEARED     // 모든 유저의 투두 삭제
+    }
+
+    public static TodoChangedEvent created(long userId, TodoRes after) {
+        return new TodoChangedEvent(Type.CREATED, userId, after.getId(), null, after);
+    }
+
+    public static TodoChangedEvent updated(long userId, TodoRes before, TodoRes after) {
+        return new TodoChangedEvent(Type.UPDATED, userId, after.getId(), before, after);
+    }
+
+    public static TodoChangedEvent progressSwitched(long userId, TodoRes before, TodoRes after) {
+        return new TodoChangedEvent(Type.PROGRESS_SWITCHED, userId, after.getId(), before, after);
+    }
+
+    // 변경 전/후를 조회하지 않고 변경한 경우
+    public static TodoChangedEvent progressSwitched(long userId, long todoId) {
+        return new TodoChangedEvent(Type.PROGRESS_SWITCHED, userId, todoId, null, null);
+    }
+
+    public static TodoChangedEvent deleted(long userId, TodoRes before) {
+        return new TodoChangedEvent(Type.DELETED, userId, before.getId(), before, null);
+    }
+
+    public static TodoChangedEvent deleted(long userId, long todoId) {
+        return new TodoChangedEvent(Type.DELETED, userId, todoId, null, null);
+    }
+
+    public static TodoChangedEvent userCleared(long userId) {
+        return new TodoChangedEvent(Type.USER_CLEARED, userId, null, null, null);
+    }
+
+    public static TodoChangedEvent allCleared() {
+        return new TodoChangedEvent(Type.ALL_CLEARED, null, null, null, null);
+    }
+}
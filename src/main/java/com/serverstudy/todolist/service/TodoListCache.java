@@ -0,0 +1,119 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.BoundedCache;
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.dto.response.TodoPageRes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 유저별 투두 목록 조회 결과 캐시
+// 투두가 변경되면 트랜잭션 커밋 후 해당 유저의 캐시 전체를 삭제하고 ETag 버전을 올림
+@Component
+public class TodoListCache {
+
+    // userId -> (조회 조건 -> 조회 결과), 같은 조건을 동시에 조회하면 한 번만 DB 조회
+    private final BoundedCache<Long, Map<PageKey, CompletableFuture<TodoPageRes>>> cache;
+    private final int maxPagesPerUser;
+    private final TodoVersionTable todoVersionTable;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public TodoListCache(@Value("${todo.list-cache.max-users:10000}") int maxUsers,
+                         @Value("${todo.list-cache.ttl-seconds:600}") long ttlSeconds,
+                         @Value("${todo.list-cache.max-pages-per-user:32}") int maxPagesPerUser,
+                         TodoVersionTable todoVersionTable,
+                         MeterRegistry meterRegistry) {
+
+        this.cache = new BoundedCache<>(maxUsers, ttlSeconds * 1000);
+        this.maxPagesPerUser = maxPagesPerUser;
+        this.todoVersionTable = todoVersionTable;
+
+        FunctionCounter.builder("todo.list.cache.hits", hitCount, LongAdder::sum)
+                .description("투두 목록 캐시 적중 횟수")
+                .register(meterRegistry);
+        FunctionCounter.builder("todo.list.cache.misses", missCount, LongAdder::sum)
+                .description("투두 목록 캐시 미스 횟수")
+                .register(meterRegistry);
+        Gauge.builder("todo.list.cache.hit.ratio", this, TodoListCache::getHitRatio)
+                .description("투두 목록 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("todo.list.cache.users", cache, BoundedCache::size)
+                .description("투두 목록 캐시에 저장된 유저 수")
+                .register(meterRegistry);
+    }
+
+    public TodoPageRes get(long userId, Priority priority, String cursor, int size, Supplier<TodoPageRes> loader) {
+
+        Map<PageKey, CompletableFuture<TodoPageRes>> pages = cache.computeIfAbsent(userId, key -> new ConcurrentHashMap<>());
+        PageKey pageKey = new PageKey(priority, cursor, size);
+
+        CompletableFuture<TodoPageRes> future = pages.get(pageKey);
+        if (future == null) {
+            if (pages.size() >= maxPagesPerUser) {
+                pages.clear();
+            }
+            CompletableFuture<TodoPageRes> created = new CompletableFuture<>();
+            future = pages.putIfAbsent(pageKey, created);
+            if (future == null) {
+                missCount.increment();
+                return load(pages, pageKey, created, loader);
+            }
+        }
+        hitCount.increment();
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+
+        // 캐시를 먼저 삭제해야 새 버전의 ETag가 항상 새로 조회한 목록에만 붙음
+        if (event.type() == TodoChangedEvent.Type.ALL_CLEARED) {
+            cache.invalidateAll();
+            todoVersionTable.increaseAll();
+        } else {
+            cache.invalidate(event.userId());
+            todoVersionTable.increase(event.userId());
+        }
+    }
+
+    public double getHitRatio() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private TodoPageRes load(Map<PageKey, CompletableFuture<TodoPageRes>> pages, PageKey pageKey,
+                             CompletableFuture<TodoPageRes> future, Supplier<TodoPageRes> loader) {
+        try {
+            TodoPageRes page = loader.get();
+            future.complete(page);
+            return page;
+        } catch (RuntimeException e) {
+            // 실패한 결과는 캐시하지 않음, 기다리던 요청도 같은 예외로 실패
+            pages.remove(pageKey, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private record PageKey(Priority priority, String cursor, int size) {
+    }
+}
@@ -0,0 +1,316 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.SearchTokenizer;
+import com.serverstudy.todolist.repository.TodoRepository;
+import com.serverstudy.todolist.repository.TodoRepository.TodoSearchText;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// 유저별 투두 제목/설명 역색인 (토큰 -> 투두 id 목록), BM25로 점수를 매겨 상위 결과의 id를 반환
+// 서버 시작 시 todo_tb를 스트리밍으로 읽어서 생성하고, 이후에는 투두 변경 이벤트로 커밋 후 갱신
+// 색인에 없는 유저는 처음 검색할 때 DB에서 읽어서 생성
+@Slf4j
+@Component
+public class TodoSearchIndex {
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목의 토큰은 설명보다 두 배로 반영
+    private static final int TITLE_WEIGHT = 2;
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ConcurrentHashMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    // 시작 시 색인 생성 도중 변경된 유저, 생성이 끝나면 해당 유저의 색인은 다시 읽도록 삭제
+    private volatile Set<Long> changedWhileBuilding;
+    private volatile boolean clearedWhileBuilding;
+
+    public TodoSearchIndex(TodoRepository todoRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+
+        this.todoRepository = todoRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("todo.search.index.users", indexes, Map::size)
+                .description("검색 색인에 올라간 유저 수")
+                .register(meterRegistry);
+        Gauge.builder("todo.search.index.documents", this, TodoSearchIndex::getDocumentCount)
+                .description("검색 색인에 올라간 투두 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+
+        long start = System.currentTimeMillis();
+        changedWhileBuilding = ConcurrentHashMap.newKeySet();
+        clearedWhileBuilding = false;
+
+        // userId, id 순서로 읽으므로 유저별로 모아서 추가
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TodoSearchText> texts = todoRepository.streamAllSearchText()) {
+                UserIndex index = null;
+                long userId = 0;
+                for (Iterator<TodoSearchText> iterator = texts.iterator(); iterator.hasNext(); ) {
+                    TodoSearchText text = iterator.next();
+                    if (index == null || text.getUserId() != userId) {
+                        if (index != null) index.markLoaded();
+                        userId = text.getUserId();
+                        index = indexes.computeIfAbsent(userId, key -> new UserIndex());
+                    }
+                    index.add(text.getId(), text.getTitle(), text.getDescription());
+                }
+                if (index != null) index.markLoaded();
+            }
+        });
+
+        Set<Long> changed = changedWhileBuilding;
+        changedWhileBuilding = null;
+        if (clearedWhileBuilding) {
+            indexes.clear();
+        } else {
+            changed.forEach(indexes::remove);
+        }
+
+        log.info("[로그] 투두 검색 색인 생성 - users: {}, documents: {}, {}ms",
+                indexes.size(), getDocumentCount(), System.currentTimeMillis() - start);
+    }
+
+    // 모든 검색어 토큰을 포함하는 투두 중 점수가 높은 순서로 최대 limit개의 id 반환
+    public List<Long> search(long userId, String query, int limit) {
+
+        List<String> terms = SearchTokenizer.queryTokens(query);
+        if (terms.isEmpty()) return List.of();
+
+        UserIndex index = getLoadedIndex(userId);
+        return index.search(terms, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+
+        if (event.type() == TodoChangedEvent.Type.ALL_CLEARED) {
+            clearedWhileBuilding = true;
+            indexes.clear();
+            return;
+        }
+        if (event.type() == TodoChangedEvent.Type.PROGRESS_SWITCHED) {
+            return;     // 제목, 설명은 바뀌지 않음
+        }
+
+        Set<Long> changed = changedWhileBuilding;
+        if (changed != null) changed.add(event.userId());
+
+        UserIndex index = indexes.get(event.userId());
+        if (index == null) return;  // 다음 검색 시 DB에서 읽음
+
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (event.after() != null) {
+                    index.add(event.todoId(), event.after().getTitle(), event.after().getDescription());
+                } else {
+                    indexes.remove(event.userId());     // 변경 후 상태를 모르면 다시 읽도록 삭제
+                }
+            }
+            case DELETED -> index.remove(event.todoId());
+            default -> indexes.remove(event.userId());
+        }
+    }
+
+    private UserIndex getLoadedIndex(long userId) {
+
+        UserIndex index = indexes.computeIfAbsent(userId, key -> new UserIndex());
+
+        // 읽는 동안 같은 유저의 변경 이벤트는 대기, 이벤트를 중복으로 반영해도 결과는 같음
+        synchronized (index) {
+            if (!index.loaded) {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<TodoSearchText> texts = todoRepository.streamSearchTextByUserId(userId)) {
+                        texts.forEach(text -> index.add(text.getId(), text.getTitle(), text.getDescription()));
+                    }
+                });
+                index.markLoaded();
+            }
+        }
+        return index;
+    }
+
+    private long getDocumentCount() {
+
+        long count = 0;
+        for (UserIndex index : indexes.values()) {
+            count += index.getDocumentCount();
+        }
+        return count;
+    }
+
+    // 한 유저의 색인, 모든 메서드는 인스턴스 락을 잡고 실행
+    private static final class UserIndex {
+
+        private final Map<String, Postings> postings = new HashMap<>();
+        // todoId -> 색인된 토큰 목록과 길이 (삭제, 점수 계산에 사용)
+        private final Map<Long, Document> documents = new HashMap<>();
+        private long totalLength;
+        private boolean loaded;
+
+        synchronized void markLoaded() {
+            loaded = true;
+        }
+
+        synchronized int getDocumentCount() {
+            return documents.size();
+        }
+
+        // 이미 있는 투두면 교체
+        synchronized void add(long todoId, String title, String description) {
+
+            remove(todoId);
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : SearchTokenizer.indexTokens(title)) {
+                frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String token : SearchTokenizer.indexTokens(description)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            if (frequencies.isEmpty()) return;
+
+            String[] terms = new String[frequencies.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms[i++] = entry.getKey();
+                length += entry.getValue();
+                postings.computeIfAbsent(entry.getKey(), key -> new Postings()).add(todoId, entry.getValue());
+            }
+
+            documents.put(todoId, new Document(terms, length));
+            totalLength += length;
+        }
+
+        synchronized void remove(long todoId) {
+
+            Document document = documents.remove(todoId);
+            if (document == null) return;
+
+            for (String term : document.terms()) {
+                Postings list = postings.get(term);
+                list.remove(todoId);
+                if (list.size == 0) postings.remove(term);
+            }
+            totalLength -= document.length();
+        }
+
+        synchronized List<Long> search(List<String> terms, int limit) {
+
+            Postings[] lists = new Postings[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) return List.of();
+            }
+            // 가장 짧은 목록을 기준으로 나머지 목록에서 찾음
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            int documentCount = documents.size();
+            double averageLength = (double) totalLength / documentCount;
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (documentCount - lists[i].size + 0.5) / (lists[i].size + 0.5));
+            }
+
+            // 점수가 가장 낮은 결과가 맨 앞에 오는 크기 limit의 힙
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Hit.WORST_FIRST);
+            int[] positions = new int[lists.length];
+
+            candidates:
+            for (int i = 0; i < lists[0].size; i++) {
+                long todoId = lists[0].ids[i];
+                double lengthNorm = K1 * (1 - B + B * documents.get(todoId).length() / averageLength);
+
+                double score = 0;
+                for (int j = 0; j < lists.length; j++) {
+                    int position = (j == 0) ? i : lists[j].find(todoId, positions[j]);
+                    if (position < 0) {
+                        if (j > 0) positions[j] = -position - 1;
+                        continue candidates;
+                    }
+                    positions[j] = position;
+                    int frequency = lists[j].frequencies[position];
+                    score += idf[j] * frequency * (K1 + 1) / (frequency + lengthNorm);
+                }
+
+                top.add(new Hit(todoId, score));
+                if (top.size() > limit) top.poll();
+            }
+
+            Long[] result = new Long[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = top.poll().todoId();
+            }
+            return Arrays.asList(result);
+        }
+    }
+
+    // id 오름차순으로 정렬된 투두 id 목록과 각 투두에서의 토큰 빈도
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(long todoId, int frequency) {
+
+            // 새 투두는 id가 가장 크므로 대부분 끝에 추가
+            int position = (size == 0 || ids[size - 1] < todoId) ? size : -find(todoId, 0) - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            ids[position] = todoId;
+            frequencies[position] = frequency;
+            size++;
+        }
+
+        void remove(long todoId) {
+
+            int position = find(todoId, 0);
+            if (position < 0) return;
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+        }
+
+        // from 이후에서 이진 탐색, 없으면 (-(삽입 위치) - 1)
+        int find(long todoId, int from) {
+            return Arrays.binarySearch(ids, from, size, todoId);
+        }
+    }
+
+    private record Document(String[] terms, int length) {
+    }
+
+    private record Hit(long todoId, double score) {
+
+        // 점수가 같으면 id가 작은(먼저 만든) 투두를 우선
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::todoId).reversed());
+    }
+}
@@ -1,91 +1,466 @@
 package com.serverstudy.todolist.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.serverstudy.todolist.common.KeysetCursor;
 import com.serverstudy.todolist.domain.Todo;
 import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.domain.enums.TodoOperationType;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoFilter;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoOperation;
 import com.serverstudy.todolist.dto.request.TodoReq.TodoPost;
 import com.serverstudy.todolist.dto.request.TodoReq.TodoPut;
+import com.serverstudy.todolist.dto.response.TodoOperationRes;
+import com.serverstudy.todolist.dto.response.TodoPageRes;
 import com.serverstudy.todolist.dto.response.TodoRes;
+import com.serverstudy.todolist.dto.response.TodoStatsRes;
 import com.serverstudy.todolist.exception.CustomException;
 import com.serverstudy.todolist.exception.ErrorCode;
+import com.serverstudy.todolist.repository.TodoFilterQuery;
 import com.serverstudy.todolist.repository.TodoRepository;
 import com.serverstudy.todolist.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.serverstudy.todolist.exception.ErrorCode.INVALID_PARAMETER;
 import static com.serverstudy.todolist.exception.ErrorCode.TODO_NOT_FOUND;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class TodoService {
 
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final TodoListCache todoListCache;
+    private final TodoVersionTable todoVersionTable;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoStatsCache todoStatsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
+    @Transactional
     public long create(TodoPost todoPost, Long userId) {
 
         if (!userRepository.existsById(userId)) {
             throw new CustomException(ErrorCode.USER_NOT_FOUND);
         }
 
-        Todo todo = todoPost.toEntity(userId);
+        Todo todo = todoRepository.save(todoPost.toEntity(userId));
+        eventPublisher.publishEvent(TodoChangedEvent.created(userId, toTodoRes(todo)));
+
+        return todo.getId();
+    }
+
+    // 유저 확인은 한 번만, insert는 한 트랜잭션에서 JDBC 배치로 전송
+    @Transactional
+    public List<Long> createAll(List<TodoPost> todoPosts, Long userId) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new CustomException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        List<Todo> todos = todoRepository.saveAll(todoPosts.stream()
+                .map(todoPost -> todoPost.toEntity(userId))
+                .toList());
+        todos.forEach(todo -> eventPublisher.publishEvent(TodoChangedEvent.created(userId, toTodoRes(todo))));
+
+        return todos.stream()
+                .map(Todo::getId)
+                .toList();
+    }
+
+    // 투두 목록 조회 결과의 ETag, 유저의 투두가 바뀌면 달라짐
+    public String getListETag(String priorityName, String cursor, int size, Long userId) {
+
+        Priority priority = (priorityName == null)
+                ? null
+                : Priority.valueOf(priorityName);
+
+        return todoVersionTable.getListETag(userId, priority, cursor, size);
+    }
+
+    // 캐시에 있으면 트랜잭션 없이 바로 반환
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TodoPageRes findAllByRequirement(String priorityName, String cursor, int size, Long userId) {
+
+        Priority priority = (priorityName == null)
+                ? null
+                : Priority.valueOf(priorityName);
+
+        return todoListCache.get(userId, priority, cursor, size,
+                () -> findPage(priority, cursor, size, userId));
+    }
+
+    // 여러 조건을 한 번에 조회, 조건이 다양해서 캐시하지 않음
+    public TodoPageRes findAllByFilter(TodoFilter todoFilter, Long userId) {
+
+        TodoFilterQuery filterQuery = todoFilter.toFilterQuery(userId);
+        int size = todoFilter.getSize();
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<TodoRes> responseList = todoRepository.findAllByFilter(filterQuery, size + 1);
+        boolean hasNext = responseList.size() > size;
+        if (hasNext) {
+            responseList = responseList.subList(0, size);
+        }
+
+        return TodoPageRes.builder()
+                .todoList(responseList)
+                .nextCursor(hasNext ? filterQuery.nextCursor(responseList.get(size - 1)) : null)
+                .build();
+    }
+
+    private TodoPageRes findPage(Priority priority, String cursor, int size, Long userId) {
+
+        // 커서 = 이전 페이지 마지막 투두의 (진행 상황 순서, id)
+        long[] position = (cursor == null)
+                ? new long[]{-1, 0}
+                : KeysetCursor.decode(cursor, 2);
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<TodoRes> responseList = todoRepository.findPageByUserIdAndPriority(
+                userId, priority, (int) position[0], position[1], Limit.of(size + 1));
+        boolean hasNext = responseList.size() > size;
+        if (hasNext) {
+            responseList = responseList.subList(0, size);
+        }
+
+        TodoRes last = responseList.isEmpty() ? null : responseList.get(responseList.size() - 1);
+
+        return TodoPageRes.builder()
+                .todoList(responseList)
+                .nextCursor(hasNext ? KeysetCursor.encode(last.getProgress().ordinal(), last.getId()) : null)
+                .build();
+    }
+
+    // 캐시에 있으면 트랜잭션 없이 바로 반환
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TodoStatsRes getStats(Long userId) {
+
+        int[] counts = todoStatsCache.getCounts(userId, () -> countTodos(userId));
+        long overdue = todoStatsCache.getOverdueCount(userId,
+                () -> todoRepository.countOverdue(userId, LocalDateTime.now()));
+
+        int total = 0;
+        Map<Priority, Map<Progress, Integer>> countMap = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            Map<Progress, Integer> progressMap = new EnumMap<>(Progress.class);
+            for (Progress progress : Progress.values()) {
+                int count = counts[TodoStatsCache.index(priority, progress)];
+                progressMap.put(progress, count);
+                total += count;
+            }
+            countMap.put(priority, progressMap);
+        }
+
+        return TodoStatsRes.builder()
+                .total(total)
+                .counts(countMap)
+                .overdue(overdue)
+                .build();
+    }
+
+    private int[] countTodos(Long userId) {
+
+        Progress[] progresses = Progress.values();
+        int[] counts = new int[TodoStatsCache.size()];
+        for (TodoRepository.TodoCount count : todoRepository.countGroupByPriorityAndProgress(userId)) {
+            if (count.getPriority() == null || count.getProgressOrdinal() == null) continue;
+            counts[TodoStatsCache.index(count.getPriority(), progresses[count.getProgressOrdinal()])] += (int) count.getCount();
+        }
+        return counts;
+    }
+
+    // 마감 기한이 [from, to) 범위인 투두 목록, (마감 기한, 우선 순위, id) 순서
+    public TodoPageRes findAllDue(LocalDateTime from, LocalDateTime to, String cursor, int size, Long userId) {
+
+        if (!from.isBefore(to)) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
 
-        return todoRepository.save(todo).getId();
+        List<TodoRes> responseList;
+        if (cursor == null) {
+            responseList = todoRepository.findDueFirstPage(userId, from, to, Limit.of(size + 1));
+        } else {
+            DeadlineKey position = DeadlineKey.decode(cursor);
+            responseList = todoRepository.findDueNextPage(
+                    userId, position.deadline(), position.priority(), position.todoId(), to, Limit.of(size + 1));
+        }
+
+        return toDeadlinePage(responseList, size);
     }
 
-    public List<TodoRes> findAllByRequirement(String priorityName, Long userId) {
+    // 마감 기한이 지났는데 완료되지 않은 투두 목록, (마감 기한, 우선 순위, id) 순서
+    public TodoPageRes findAllOverdue(String cursor, int size, Long userId) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TodoRes> responseList;
+        if (cursor == null) {
+            responseList = todoRepository.findOverdueFirstPage(userId, now, Limit.of(size + 1));
+        } else {
+            DeadlineKey position = DeadlineKey.decode(cursor);
+            responseList = todoRepository.findOverdueNextPage(
+                    userId, position.deadline(), position.priority(), position.todoId(), now, Limit.of(size + 1));
+        }
+
+        return toDeadlinePage(responseList, size);
+    }
+
+    // 다음 페이지 존재 여부 확인을 위해 size + 1개를 조회한 결과로 페이지 생성
+    private TodoPageRes toDeadlinePage(List<TodoRes> responseList, int size) {
+
+        boolean hasNext = responseList.size() > size;
+        if (hasNext) {
+            responseList = responseList.subList(0, size);
+        }
+
+        TodoRes last = responseList.isEmpty() ? null : responseList.get(responseList.size() - 1);
+
+        return TodoPageRes.builder()
+                .todoList(responseList)
+                .nextCursor(hasNext ? DeadlineKey.of(last).encode() : null)
+                .build();
+    }
+
+    // 검색 색인에서 찾은 순서(점수 높은 순) 그대로 반환
+    public List<TodoRes> search(String query, int limit, Long userId) {
+
+        List<Long> todoIds = todoSearchIndex.search(userId, query, limit);
+        if (todoIds.isEmpty()) return List.of();
+
+        Map<Long, TodoRes> todoMap = todoRepository.findAllByUserIdAndIdIn(userId, todoIds).stream()
+                .collect(Collectors.toMap(TodoRes::getId, Function.identity()));
+
+        return todoIds.stream()
+                .map(todoMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 투두 전체를 JSON 배열로 바로 출력, 목록을 메모리에 모으지 않음
+    // 전송 내내 커넥션을 잡고 있지 않도록 EXPORT_CHUNK_SIZE개씩 짧은 트랜잭션으로 조회하고, 출력은 트랜잭션 밖에서 수행
+    // 하나의 스냅샷이 아니므로 내보내는 도중 진행 상황이 바뀐 투두는 빠지거나 두 번 나올 수 있음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportAll(String priorityName, Long userId, OutputStream outputStream) throws IOException {
 
         Priority priority = (priorityName == null)
                 ? null
                 : Priority.valueOf(priorityName);
 
-        List<Todo> todoList = todoRepository.findAllByUserIdAndPriorityOrderByProgress(userId, priority);
+        // 투두마다 flush하지 않고 버퍼가 찰 때만 전송, 응답 스트림은 컨테이너가 닫으므로 generator를 닫을 때 함께 닫지 않음
+        ObjectWriter writer = objectMapper.writerFor(TodoRes.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
 
-        return todoList.stream().map(todo ->
-                TodoRes.builder()
-                        .id(todo.getId())
-                        .title(todo.getTitle())
-                        .description(todo.getDescription())
-                        .deadline(todo.getDeadline())
-                        .priority(todo.getPriority())
-                        .progress(todo.getProgress())
-                        .build()
-        ).toList();
+            generator.writeStartArray();
+            // 목록과 같은 (진행 상황 순서, id) 순서
+            for (Progress progress : Progress.values()) {
+                long afterId = 0;
+                while (true) {
+                    long from = afterId;
+                    List<TodoRes> chunk = transactionTemplate.execute(status -> (priority == null)
+                            ? todoRepository.findExportChunk(userId, progress.ordinal(), from, Limit.of(EXPORT_CHUNK_SIZE))
+                            : todoRepository.findExportChunkByPriority(userId, priority, progress.ordinal(), from, Limit.of(EXPORT_CHUNK_SIZE)));
+                    for (TodoRes todo : chunk) {
+                        writer.writeValue(generator, todo);
+                    }
+                    count += chunk.size();
+                    if (chunk.size() < EXPORT_CHUNK_SIZE) break;
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            }
+            generator.writeEndArray();
+        }
+        log.info("[로그] 투두 내보내기 - userId: {}, count: {}", userId, count);
     }
 
+    // 조회 없이 유저의 투두만 변경, 변경된 행이 없으면 없는 투두
+    // 변경 전 상태는 모르므로 이벤트의 before는 null
     @Transactional
-    public long update(TodoPut todoPut, Long todoId) {
+    public long update(TodoPut todoPut, Long todoId, Long userId) {
 
-        Todo todo = getTodo(todoId);
+        Progress progress = todoPut.getProgress();
+        int count = todoRepository.updateByIdAndUserId(todoId, userId, todoPut.getTitle(), todoPut.getDescription(),
+                todoPut.getDeadline(), todoPut.getPriority(), progress, progress.ordinal());
+        if (count == 0) {
+            throw new CustomException(TODO_NOT_FOUND);
+        }
 
-        todo.updateTodo(todoPut);
+        TodoRes after = TodoRes.builder()
+                .id(todoId)
+                .title(todoPut.getTitle())
+                .description(todoPut.getDescription())
+                .deadline(todoPut.getDeadline())
+                .priority(todoPut.getPriority())
+                .progress(progress)
+                .build();
+        eventPublisher.publishEvent(TodoChangedEvent.updated(userId, null, after));
 
-        return todo.getId();
+        return todoId;
     }
 
     @Transactional
-    public long switchProgress(long todoId) {
+    public long switchProgress(long todoId, Long userId) {
 
-        Todo todo = getTodo(todoId);
+        if (todoRepository.switchProgressByIdAndUserId(todoId, userId) == 0) {
+            throw new CustomException(TODO_NOT_FOUND);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.progressSwitched(userId, todoId));
 
-        todo.switchProgress();
+        return todoId;
+    }
 
-        return todo.getId();
+    @Transactional
+    public void delete(Long todoId, Long userId) {
+
+        if (todoRepository.deleteByIdAndUserId(todoId, userId) == 0) {
+            throw new CustomException(TODO_NOT_FOUND);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(userId, todoId));
     }
 
+    // 수정/진행 상황 변경/삭제를 한 트랜잭션에서 종류별로 모아서 실행하고, 요청 순서대로 결과를 반환
+    // 같은 투두를 여러 번 변경하면 실행 순서가 요청 순서와 달라지므로 허용하지 않음
     @Transactional
-    public void delete(Long todoId) {
+    public List<TodoOperationRes> applyAll(List<TodoOperation> operations, Long userId) {
 
-        todoRepository.deleteById(todoId);
+        Set<Long> todoIds = new HashSet<>();
+        for (TodoOperation operation : operations) {
+            if (!todoIds.add(operation.getTodoId())) {
+                throw new CustomException(INVALID_PARAMETER);
+            }
+        }
+
+        // 유저의 투두인지 한 번에 확인하면서 행 잠금, 변경 전 값은 이벤트에 사용
+        // 잠근 투두는 커밋까지 다른 요청이 수정/삭제할 수 없으므로 아래 변경 대상과 변경 전 값이 항상 일치
+        Map<Long, Todo> todos = todoRepository.findAllForUpdateByUserIdAndIdIn(userId, todoIds).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        Map<Long, TodoRes> befores = todos.values().stream()
+                .collect(Collectors.toMap(Todo::getId, this::toTodoRes));
+        Map<TodoOperationType, List<TodoOperation>> grouped = operations.stream()
+                .filter(operation -> befores.containsKey(operation.getTodoId()))
+                .collect(Collectors.groupingBy(TodoOperation::getType,
+                        () -> new EnumMap<>(TodoOperationType.class), Collectors.toList()));
+
+        // 수정 값은 투두마다 다르므로 잠금과 함께 조회한 엔티티를 변경, flush 시 update가 JDBC 배치로 전송
+        List<TodoOperation> updates = grouped.getOrDefault(TodoOperationType.UPDATE, List.of());
+        if (!updates.isEmpty()) {
+            for (TodoOperation operation : updates) {
+                Todo todo = todos.get(operation.getTodoId());
+                todo.updateTodo(operation.getTodo());
+                eventPublisher.publishEvent(TodoChangedEvent.updated(userId, befores.get(todo.getId()), toTodoRes(todo)));
+            }
+            todoRepository.flush();
+        }
+
+        List<TodoOperation> switches = grouped.getOrDefault(TodoOperationType.SWITCH, List.of());
+        if (!switches.isEmpty()) {
+            todoRepository.switchProgressAllByUserIdAndIdIn(userId, switches.stream().map(TodoOperation::getTodoId).toList());
+            for (TodoOperation operation : switches) {
+                TodoRes before = befores.get(operation.getTodoId());
+                TodoRes after = TodoRes.builder()
+                        .id(before.getId())
+                        .title(before.getTitle())
+                        .description(before.getDescription())
+                        .deadline(before.getDeadline())
+                        .priority(before.getPriority())
+                        .progress(before.getProgress() == Progress.TODO ? Progress.DONE : Progress.TODO)
+                        .build();
+                eventPublisher.publishEvent(TodoChangedEvent.progressSwitched(userId, before, after));
+            }
+        }
+
+        List<TodoOperation> deletes = grouped.getOrDefault(TodoOperationType.DELETE, List.of());
+        if (!deletes.isEmpty()) {
+            todoRepository.deleteAllByUserIdAndIdIn(userId, deletes.stream().map(TodoOperation::getTodoId).toList());
+            deletes.forEach(operation ->
+                    eventPublisher.publishEvent(TodoChangedEvent.deleted(userId, befores.get(operation.getTodoId()))));
+        }
+
+        log.info("[로그] 투두 일괄 변경 - userId: {}, update: {}, switch: {}, delete: {}, notFound: {}",
+                userId, updates.size(), switches.size(), deletes.size(), operations.size() - befores.size());
+
+        return operations.stream()
+                .map(operation -> {
+                    boolean found = befores.containsKey(operation.getTodoId());
+                    return TodoOperationRes.builder()
+                            .todoId(operation.getTodoId())
+                            .type(operation.getType())
+                            .status(found ? HttpStatus.OK.value() : TODO_NOT_FOUND.getHttpStatus().value())
+                            .code(found ? null : TODO_NOT_FOUND.name())
+                            .build();
+                })
+                .toList();
     }
 
-    private Todo getTodo(Long todoId) {
+    private TodoRes toTodoRes(Todo todo) {
 
-        return todoRepository.findById(todoId)
-                .orElseThrow(() -> new CustomException(TODO_NOT_FOUND));
+        return TodoRes.builder()
+                .id(todo.getId())
+                .title(todo.getTitle())
+                .description(todo.getDescription())
+                .deadline(todo.getDeadline())
+                .priority(todo.getPriority())
+                .progress(todo.getProgress())
+                .build();
     }
 
+    // 마감 기한 목록의 커서 = 이전 페이지 마지막 투두의 (마감 기한, 우선 순위, id)
+    private record DeadlineKey(LocalDateTime deadline, Priority priority, long todoId) {
+
+        static DeadlineKey of(TodoRes todo) {
+            return new DeadlineKey(todo.getDeadline(), todo.getPriority(), todo.getId());
+        }
+
+        static DeadlineKey decode(String cursor) {
+
+            long[] values = KeysetCursor.decode(cursor, 4);
+            Priority[] priorities = Priority.values();
+            if (values[1] < 0 || values[1] > 999_999_999 || values[2] < 0 || values[2] >= priorities.length) {
+                throw new CustomException(INVALID_PARAMETER);
+            }
+            try {
+                LocalDateTime deadline = LocalDateTime.ofEpochSecond(values[0], (int) values[1], ZoneOffset.UTC);
+                return new DeadlineKey(deadline, priorities[(int) values[2]], values[3]);
+            } catch (DateTimeException e) {
+                throw new CustomException(INVALID_PARAMETER);
+            }
+        }
+
+        String encode() {
+            return KeysetCursor.encode(deadline.toEpochSecond(ZoneOffset.UTC), deadline.getNano(), priority.ordinal(), todoId);
+        }
+    }
 }
@@ -0,0 +1,233 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.BoundedCache;
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+// 유저별 (우선 순위 x 진행 상황) 투두 개수, 투두가 변경되면 커밋 후 개수만 증감
+// 캐시에 없으면 GROUP BY 쿼리 한 번으로 다시 계산
+@Component
+public class TodoStatsCache {
+
+    private static final int PRIORITY_COUNT = Priority.values().length;
+    private static final int PROGRESS_COUNT = Progress.values().length;
+    // 유저별 변경 버전은 고정 크기 배열에 나눠서 보관 (같은 칸을 쓰는 유저끼리는 캐시 저장이 더 보수적이 될 뿐)
+    private static final int STRIPES = 1024;
+
+    // userId -> [priority.ordinal * PROGRESS_COUNT + progress.ordinal] 개수
+    private final BoundedCache<Long, AtomicIntegerArray> countsCache;
+    // 기한 지난 투두 수는 시간이 지나면 바뀌므로 짧게 보관
+    private final BoundedCache<Long, Long> overdueCache;
+
+    // 진행 중인(커밋 전) 변경 수와 커밋된 변경 버전
+    // 조회 시작 전후로 둘 다 그대로일 때만 캐시에 저장해서, 조회 결과에 이미 반영된 변경이 다시 더해지지 않도록 함
+    // 버전과 캐시 저장, 개수 증감은 칸별 락으로 보호 (서로 다른 칸의 유저끼리는 기다리지 않음)
+    private final AtomicIntegerArray inFlight = new AtomicIntegerArray(STRIPES);
+    private final long[] versions = new long[STRIPES];
+    private final Object[] locks = new Object[STRIPES];
+
+    // 캐시 미스 시 같은 유저의 조회는 하나만 실행하고 나머지는 결과를 기다림
+    private final ConcurrentHashMap<Long, Load<int[]>> countsLoads = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Load<Long>> overdueLoads = new ConcurrentHashMap<>();
+
+    public TodoStatsCache(@Value("${todo.stats-cache.max-users:10000}") int maxUsers,
+                          @Value("${todo.stats-cache.ttl-seconds:3600}") long ttlSeconds,
+                          @Value("${todo.stats-cache.overdue-ttl-seconds:30}") long overdueTtlSeconds,
+                          MeterRegistry meterRegistry) {
+
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe] = new Object();
+        }
+        this.countsCache = new BoundedCache<>(maxUsers, ttlSeconds * 1000);
+        this.overdueCache = new BoundedCache<>(maxUsers, overdueTtlSeconds * 1000);
+
+        FunctionCounter.builder("todo.stats.cache.hits", countsCache, BoundedCache::getHitCount)
+                .description("투두 통계 캐시 적중 횟수")
+                .register(meterRegistry);
+        FunctionCounter.builder("todo.stats.cache.misses", countsCache, BoundedCache::getMissCount)
+                .description("투두 통계 캐시 미스 횟수")
+                .register(meterRegistry);
+        Gauge.builder("todo.stats.cache.users", countsCache, BoundedCache::size)
+                .description("투두 통계 캐시에 저장된 유저 수")
+                .register(meterRegistry);
+    }
+
+    public static int index(Priority priority, Progress progress) {
+        return priority.ordinal() * PROGRESS_COUNT + progress.ordinal();
+    }
+
+    public static int size() {
+        return PRIORITY_COUNT * PROGRESS_COUNT;
+    }
+
+    // 개수 배열의 복사본 반환, loader는 index() 순서의 개수 배열을 반환해야 함
+    public int[] getCounts(long userId, Supplier<int[]> loader) {
+
+        AtomicIntegerArray counts = countsCache.get(userId);
+        if (counts == null) {
+            return load(userId, countsLoads, loader,
+                    loaded -> countsCache.put(userId, new AtomicIntegerArray(loaded))).clone();
+        }
+
+        int[] copy = new int[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    public long getOverdueCount(long userId, Supplier<Long> loader) {
+
+        Long overdue = overdueCache.get(userId);
+        if (overdue == null) {
+            overdue = load(userId, overdueLoads, loader, loaded -> overdueCache.put(userId, loaded));
+        }
+        return overdue;
+    }
+
+    // 같은 버전에서 시작한 조회가 진행 중이면 그 결과를 기다림
+    // 버전이 다르면 진행 중인 조회에 이후 변경이 빠져 있을 수 있으므로 따로 조회 (캐시 저장 조건은 같음)
+    private <V> V load(long userId, ConcurrentHashMap<Long, Load<V>> loads, Supplier<V> loader, Consumer<V> store) {
+
+        int stripe = stripe(userId);
+        long version = snapshotVersion(stripe);
+        if (version < 0) return loader.get();
+
+        Load<V> mine = new Load<>(version, new CompletableFuture<>());
+        Load<V> running = loads.putIfAbsent(userId, mine);
+        if (running != null) {
+            if (running.version() == version) return join(running.result());
+            return loadAndStore(stripe, version, loader, store);
+        }
+
+        try {
+            V loaded = loadAndStore(stripe, version, loader, store);
+            mine.result().complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(userId, mine);
+        }
+    }
+
+    private <V> V loadAndStore(int stripe, long version, Supplier<V> loader, Consumer<V> store) {
+
+        V loaded = loader.get();
+        synchronized (locks[stripe]) {
+            if (inFlight.get(stripe) == 0 && versions[stripe] == version) {
+                store.accept(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private static <V> V join(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    // 트랜잭션 안에서 이벤트를 발행하는 시점
+    @EventListener
+    public void onTodoChanging(TodoChangedEvent event) {
+        forEachStripe(event, stripe -> inFlight.incrementAndGet(stripe));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+
+        // 모든 칸의 버전을 올린 뒤 비우므로, 그 전에 시작한 조회 결과는 저장되지 않음
+        if (event.type() == TodoChangedEvent.Type.ALL_CLEARED) {
+            forEachStripe(event, stripe -> {
+                synchronized (locks[stripe]) {
+                    versions[stripe]++;
+                }
+            });
+            countsCache.invalidateAll();
+            overdueCache.invalidateAll();
+            return;
+        }
+
+        int stripe = stripe(event.userId());
+        synchronized (locks[stripe]) {
+            versions[stripe]++;
+            overdueCache.invalidate(event.userId());
+
+            AtomicIntegerArray counts = countsCache.get(event.userId());
+            if (counts == null) return;
+
+            TodoRes before = event.before();
+            TodoRes after = event.after();
+            boolean known = switch (event.type()) {
+                case CREATED -> isCountable(after);
+                case DELETED -> isCountable(before);
+                case UPDATED, PROGRESS_SWITCHED -> isCountable(before) && isCountable(after);
+                default -> false;
+            };
+            // 변경 전/후를 모르면 다시 계산
+            if (!known) {
+                countsCache.invalidate(event.userId());
+                return;
+            }
+            if (before != null) counts.decrementAndGet(index(before.getPriority(), before.getProgress()));
+            if (after != null) counts.incrementAndGet(index(after.getPriority(), after.getProgress()));
+        }
+    }
+
+    // 커밋, 롤백 모두
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTodoChangeCompleted(TodoChangedEvent event) {
+        forEachStripe(event, stripe -> inFlight.decrementAndGet(stripe));
+    }
+
+    // 진행 중인 변경이 있으면 -1 (캐시에 저장하지 않음)
+    private long snapshotVersion(int stripe) {
+        synchronized (locks[stripe]) {
+            return inFlight.get(stripe) == 0 ? versions[stripe] : -1;
+        }
+    }
+
+    private void forEachStripe(TodoChangedEvent event, IntConsumer action) {
+
+        if (event.type() == TodoChangedEvent.Type.ALL_CLEARED) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) action.accept(stripe);
+        } else {
+            action.accept(stripe(event.userId()));
+        }
+    }
+
+    private static boolean isCountable(TodoRes todo) {
+        return todo != null && todo.getPriority() != null && todo.getProgress() != null;
+    }
+
+    static int stripe(long userId) {
+        // Snowflake id의 하위 비트는 시퀀스, 노드라 편중되므로 섞은 뒤 상위 10비트(STRIPES = 1024) 사용
+        return (int) ((userId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - Integer.numberOfTrailingZeros(STRIPES)));
+    }
+
+    // 진행 중인 조회, 시작할 때의 버전과 결과
+    private record Load<V>(long version, CompletableFuture<V> result) {
+    }
+}
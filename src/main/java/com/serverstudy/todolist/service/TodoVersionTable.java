@@ -0,0 +1,60 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.domain.enums.Priority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 유저별 투두 변경 버전, 투두가 바뀔 때마다 커밋 후 증가
+// 목록 조회의 ETag를 만들 때 사용해서 변경이 없으면 DB 조회 없이 304 응답
+// 유저 id를 해시한 고정 크기 배열에 저장, 슬롯이 겹치는 유저는 서로의 변경에도 버전이 바뀌지만(불필요한 재조회)
+// 버전이 줄어들지 않으므로 변경을 놓치는 일은 없음
+@Component
+public class TodoVersionTable {
+
+    // 서버가 재시작되면 버전이 0부터 다시 시작하므로 재시작 이전의 ETag와 겹치지 않도록 구분
+    private final String bootId = Long.toHexString(System.currentTimeMillis());
+
+    private final AtomicLongArray versions;
+    private final int mask;
+    // 전체 삭제 시 증가
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    public TodoVersionTable(@Value("${todo.version-table.slots:65536}") int slots) {
+
+        if (slots <= 0) throw new IllegalArgumentException("slots는 0보다 커야 합니다.");
+
+        // 2의 거듭제곱으로 올림
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.versions = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    public long current(long userId) {
+        return versions.get(indexOf(userId));
+    }
+
+    public String getListETag(long userId, Priority priority, String cursor, int size) {
+        return "\"" + bootId + "." + globalVersion.get() + "." + current(userId)
+                + "-" + Integer.toHexString(Objects.hash(priority, cursor, size)) + "\"";
+    }
+
+    // TodoListCache가 목록 캐시를 삭제한 다음에 호출
+    // 먼저 증가시키면 새 버전의 ETag로 아직 삭제되지 않은 이전 목록을 응답할 수 있음
+    public void increase(long userId) {
+        versions.incrementAndGet(indexOf(userId));
+    }
+
+    public void increaseAll() {
+        globalVersion.incrementAndGet();
+    }
+
+    private int indexOf(long userId) {
+        // Snowflake id의 하위 비트는 시퀀스라 편중되므로 섞어서 사용
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
@@ -0,0 +1,165 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.BloomFilter;
+import com.serverstudy.todolist.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// 가입된 이메일의 블룸 필터, 확실히 없는 이메일은 DB 조회 없이 중복 검사를 통과시킴
+// 블룸 필터는 삭제를 지원하지 않으므로 탈퇴한 이메일이 쌓이면 주기적으로 다시 생성
+@Slf4j
+@Component
+public class UserEmailFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final double staleRatio;
+
+    private volatile BloomFilter filter;
+    // 현재 필터를 만들 때 기준으로 한 예상 삽입 수, 넘으면 오탐률이 올라가므로 다시 생성
+    private volatile long capacity;
+    // 다시 생성하는 도중 가입한 이메일도 새 필터에 추가하기 위해 보관
+    private BloomFilter building;
+    private long addedWhileBuilding;
+    private volatile boolean ready = false;
+
+    // 추가와 필터 교체를 묶는 락, 교체 직전에 추가된 이메일이 이전 필터에만 들어가는 일이 없도록 함
+    // 스트리밍으로 다시 생성하는 동안에는 잡지 않음
+    private final Object swapLock = new Object();
+
+    private final AtomicLong insertionCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+
+    public UserEmailFilter(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.email-filter.expected-insertions:100000}") long expectedInsertions,
+                           @Value("${user.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${user.email-filter.stale-ratio:0.2}") double staleRatio) {
+
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.staleRatio = staleRatio;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        this.capacity = expectedInsertions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    // false면 확실히 가입되지 않은 이메일, 필터 생성 전에는 항상 true
+    public boolean mightExist(String email) {
+        return !ready || filter.mightContain(normalize(email));
+    }
+
+    // 가입 트랜잭션이 커밋된 후에 추가, 필터를 다시 생성하는 중이어도 누락되지 않음
+    public void addAfterCommit(String email) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(email);
+                }
+            });
+        } else {
+            add(email);
+        }
+    }
+
+    public void markRemoved(long count) {
+        staleCount.addAndGet(count);
+    }
+
+    // 전체 삭제 후에는 필터 전체가 의미 없으므로 다음 주기에 다시 생성
+    public void markAllRemoved() {
+        staleCount.set(insertionCount.get());
+    }
+
+    @Scheduled(fixedDelayString = "${user.email-filter.check-millis:60000}")
+    public void rebuildIfStale() {
+
+        long insertions = insertionCount.get();
+        if (ready && (staleCount.get() > insertions * staleRatio || insertions > capacity)) {
+            rebuild();
+        }
+    }
+
+    // user_tb의 이메일을 스트리밍으로 읽어서 새 필터 생성
+    public synchronized void rebuild() {
+
+        long start = System.currentTimeMillis();
+
+        // 가입자 수가 예상보다 많으면 크기를 늘려서 오탐률 유지
+        long size = Math.max(expectedInsertions, userRepository.count() * 2);
+        BloomFilter newFilter = BloomFilter.create(size, falsePositiveRate);
+        long staleAtStart = staleCount.get();
+        synchronized (swapLock) {
+            building = newFilter;
+            addedWhileBuilding = 0;
+        }
+
+        AtomicLong count = new AtomicLong();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.forEach(email -> {
+                    newFilter.put(normalize(email));
+                    count.incrementAndGet();
+                });
+            }
+        });
+
+        // 생성 중에 가입한 이메일은 스트림에도 있을 수 있어 중복으로 셀 수 있음 (다시 생성하는 시점만 조금 당겨짐)
+        long insertions;
+        synchronized (swapLock) {
+            filter = newFilter;
+            capacity = size;
+            building = null;
+            insertions = count.get() + addedWhileBuilding;
+            insertionCount.set(insertions);
+        }
+        // 생성 중에 탈퇴한 이메일은 새 필터에 남아있을 수 있으므로 그대로 둠
+        staleCount.addAndGet(-staleAtStart);
+        ready = true;
+
+        log.info("[로그] 이메일 블룸 필터 생성 - count: {}, bits: {}, hashes: {}, {}ms",
+                count.get(), newFilter.getBitSize(), newFilter.getHashCount(), System.currentTimeMillis() - start);
+    }
+
+    private void add(String email) {
+
+        String normalizedEmail = normalize(email);
+        synchronized (swapLock) {
+            filter.put(normalizedEmail);
+            if (building != null) {
+                building.put(normalizedEmail);
+                addedWhileBuilding++;
+            }
+            insertionCount.incrementAndGet();
+        }
+    }
+
+    // DB 콜레이션이 대소문자를 구분하지 않을 수 있으므로 소문자로 통일 (오탐만 늘어날 뿐 누락은 없음)
+    private String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
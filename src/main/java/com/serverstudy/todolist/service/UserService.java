@@ -1,5 +1,11 @@
 package com.serverstudy.todolist.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.serverstudy.todolist.common.KeysetCursor;
 import com.serverstudy.todolist.domain.User;
 import com.serverstudy.todolist.domain.enums.Role;
 import com.serverstudy.todolist.dto.request.UserReq;
@@ -7,77 +13,111 @@ import com.serverstudy.todolist.dto.request.UserReq.UserPatchNickname;
 import com.serverstudy.todolist.dto.request.UserReq.UserPatchPassword;
 import com.serverstudy.todolist.dto.request.UserReq.UserPost;
 import com.serverstudy.todolist.dto.response.JwtRes;
+import com.serverstudy.todolist.dto.response.UserDeletionRes;
+import com.serverstudy.todolist.dto.response.UserPageRes;
+import com.serverstudy.todolist.dto.response.UserPurgeRes;
 import com.serverstudy.todolist.dto.response.UserRes;
 import com.serverstudy.todolist.exception.CustomException;
-import com.serverstudy.todolist.repository.TodoRepository;
 import com.serverstudy.todolist.repository.UserRepository;
 import com.serverstudy.todolist.security.JwtTokenProvider;
+import com.serverstudy.todolist.security.PasswordHasher;
+import com.serverstudy.todolist.security.PrincipalCache;
+import com.serverstudy.todolist.security.TokenVersionTable;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.serverstudy.todolist.exception.ErrorCode.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserService {
 
     private final UserRepository userRepository;
-    private final TodoRepository todoRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
-
-    @Transactional
+    private final PrincipalCache principalCache;
+    private final TokenVersionTable tokenVersionTable;
+    private final UserEmailFilter userEmailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserTodoPurger userTodoPurger;
+    private final AllUsersPurger allUsersPurger;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // bcrypt 해싱은 수십~수백 ms 걸리므로 DB 커넥션을 잡지 않은 상태에서 수행하고, 저장만 짧은 트랜잭션으로 처리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public JwtRes join(UserPost userPost) {
 
         checkEmailDuplicated(userPost.getEmail());
 
-        String encodedPassword = passwordEncoder.encode(userPost.getPassword());
+        String encodedPassword = passwordHasher.encode(userPost.getPassword());
 
-        User user = userRepository.save(
-                userPost.toEntity(encodedPassword)
-        );
+        User user = transactionTemplate.execute(status -> {
+            User savedUser = userRepository.save(
+                    userPost.toEntity(encodedPassword)
+            );
+            userEmailFilter.addAfterCommit(savedUser.getEmail());
+            return savedUser;
+        });
 
         return JwtRes.builder()
-                .accessToken(jwtTokenProvider.createToken(user.getEmail()))
+                .accessToken(jwtTokenProvider.createToken(user))
                 .build();
     }
 
     public void checkEmailDuplicated(String email) {
 
-        if (userRepository.existsByEmail(email)) {
+        // 블룸 필터에 없는 이메일은 DB 조회 없이 통과
+        if (userEmailFilter.mightExist(email) && userRepository.existsByEmail(email)) {
             throw new CustomException(DUPLICATE_USER_EMAIL);
         }
     }
 
+    // 조회 -> 해싱(트랜잭션 없음) -> 필요할 때만 짧은 트랜잭션으로 다시 저장
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public JwtRes login (UserReq.UserLoginPost userLoginPost) {
 
         // 이메일 불일치
         User user = userRepository.findByEmail(userLoginPost.getEmail())
                 .orElseThrow(() -> new CustomException(BAD_CREDENTIALS));
         // 비밀번호 불일치
-        if (!passwordEncoder.matches(userLoginPost.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(userLoginPost.getPassword(), user.getPassword())) {
             throw new CustomException(BAD_CREDENTIALS);
         }
+        // 저장된 해시의 cost가 현재 strength보다 낮으면 새 strength로 다시 저장
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            String rehashedPassword = passwordHasher.encode(userLoginPost.getPassword());
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), rehashedPassword));
+        }
 
         return JwtRes.builder()
-                .accessToken(jwtTokenProvider.createToken(user.getEmail()))
+                .accessToken(jwtTokenProvider.createToken(user))
                 .build();
     }
 
     public UserRes get(Long userId) {
 
-        User user = getUser(userId);
-
-        return UserRes.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .nickname(user.getNickname())
-                .build();
+        return userRepository.findUserResById(userId)
+                .orElseThrow(() -> new CustomException(USER_NOT_FOUND));
     }
 
     @Transactional
@@ -86,33 +126,58 @@ public class UserService {
         User user = getUser(userId);
 
         user.modifyNickname(userPatchNickname);
+        principalCache.evictAfterCommit(userId);
 
         return user.getId();
     }
 
-    @Transactional
+    // 조회 -> 해싱(트랜잭션 없음) -> 짧은 트랜잭션으로 저장
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long modifyPassword(UserPatchPassword userPatchPassword, Long userId) {
 
         User user = getUser(userId);
 
         // 비밀번호 불일치
-        if (!passwordEncoder.matches(userPatchPassword.getExistingPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(userPatchPassword.getExistingPassword(), user.getPassword())) {
             throw new CustomException(BAD_PASSWORD);
         }
 
-        String encodedNewPassword = passwordEncoder.encode(userPatchPassword.getNewPassword());
-        user.modifyPassword(encodedNewPassword);
+        String encodedNewPassword = passwordHasher.encode(userPatchPassword.getNewPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            // 해싱하는 동안 다른 요청이 비밀번호를 바꿨으면 기존 비밀번호가 더 이상 맞지 않음
+            if (userRepository.changePasswordIfUnchanged(userId, user.getPassword(), encodedNewPassword) == 0) {
+                throw new CustomException(BAD_PASSWORD);
+            }
+            principalCache.evictAfterCommit(userId);
+            // 기존에 발급된 토큰 폐기, 비밀번호가 같으면 그 사이에 토큰 버전도 바뀌지 않았음
+            tokenVersionTable.updateAfterCommit(userId, user.getTokenVersion() + 1);
+        });
 
         return user.getId();
     }
 
-    @Transactional
-    public void delete(Long userId) {
+    // 유저를 먼저 삭제해서 로그인, 투두 생성을 막고, 투두는 트랜잭션을 나눠서 삭제
+    // 투두가 많으면 백그라운드에서 삭제하고 진행 중인 작업 정보를 반환
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDeletionRes delete(Long userId) {
 
-        // 투두 리스트 삭제
-        todoRepository.deleteAllInBatch(todoRepository.findAllByUserId(userId));
+        // 트랜잭션 템플릿이 커밋한 뒤에 캐시를 비움
+        transactionTemplate.executeWithoutResult(status -> userRepository.deleteById(userId));
+        principalCache.evict(userId);
+        tokenVersionTable.revoke(userId);
+        userEmailFilter.markRemoved(1);
+        eventPublisher.publishEvent(TodoChangedEvent.userCleared(userId));
 
-        userRepository.deleteById(userId);
+        return userTodoPurger.purge(userId);
+    }
+
+    public UserDeletionRes getDeletionStatus(Long userId) {
+
+        UserDeletionRes status = userTodoPurger.getStatus(userId);
+        if (status == null) {
+            throw new CustomException(JOB_NOT_FOUND);
+        }
+        return status;
     }
 
     @Transactional
@@ -125,31 +190,100 @@ public class UserService {
         });
 
         return JwtRes.builder()
-                .accessToken(jwtTokenProvider.createToken(admin.getEmail()))
+                .accessToken(jwtTokenProvider.createToken(admin))
+                .build();
+    }
+
+    public UserPageRes getAll(String cursor, int size) {
+
+        // 커서 = 이전 페이지 마지막 유저의 id
+        long afterId = (cursor == null)
+                ? 0
+                : KeysetCursor.decode(cursor, 1)[0];
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<UserRes> responseList = userRepository.findPageExceptAdmin(afterId, Limit.of(size + 1));
+        boolean hasNext = responseList.size() > size;
+        if (hasNext) {
+            responseList = responseList.subList(0, size);
+        }
+
+        return UserPageRes.builder()
+                .userList(responseList)
+                .nextCursor(hasNext ? KeysetCursor.encode(responseList.get(size - 1).getId()) : null)
                 .build();
     }
 
-    public List<UserRes> getAll() {
+    // 유저 전체를 읽는 대로 전송, fetch size 단위로 가져오므로 유저 수와 상관없이 메모리 사용량 일정
+    public void exportAll(String format, OutputStream outputStream) throws IOException {
+
+        long count = 0;
+        try (Stream<UserRes> users = userRepository.streamAllUserResExceptAdmin()) {
+            Iterator<UserRes> iterator = users.iterator();
+            if (format.equalsIgnoreCase("csv")) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                writer.write("id,email,nickname\n");
+                while (iterator.hasNext()) {
+                    UserRes user = iterator.next();
+                    writer.write(user.getId() + "," + toCsvField(user.getEmail()) + "," + toCsvField(user.getNickname()) + "\n");
+                    count++;
+                }
+                writer.flush();
+            } else {
+                // 한 줄에 유저 하나 (NDJSON)
+                // 유저마다 flush하지 않고 버퍼가 찰 때만 전송, 응답 스트림은 컨테이너가 닫으므로 generator를 닫을 때 함께 닫지 않음
+                ObjectWriter writer = objectMapper.writerFor(UserRes.class)
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                    generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+                    while (iterator.hasNext()) {
+                        writer.writeValue(generator, iterator.next());
+                        generator.writeRaw('\n');
+                        count++;
+                    }
+                }
+            }
+        }
+        log.info("[로그] 유저 내보내기 - format: {}, count: {}", format, count);
+    }
+
+    // 백그라운드에서 나눠서 삭제, 진행 중인 작업 정보 반환
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserPurgeRes deleteAll() {
 
-        return userRepository.findAll().stream()
-                .filter(user -> !user.getEmail().equals("ADMIN"))   // 관리자 제외
-                .map(user -> UserRes.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .nickname(user.getNickname())
-                        .build()
-                ).toList();
+        return allUsersPurger.start();
     }
 
-    @Transactional
-    public void deleteAll() {
-
-        todoRepository.deleteAllInBatch();
-        userRepository.deleteAllInBatch(
-                userRepository.findAll().stream()
-                        .filter(user -> !user.getEmail().equals("ADMIN"))   // 관리자 제외
-                        .toList()
-        );
+    public UserPurgeRes getPurgeStatus() {
+
+        UserPurgeRes status = allUsersPurger.getStatus();
+        if (status == null) {
+            throw new CustomException(JOB_NOT_FOUND);
+        }
+        return status;
+    }
+
+    public UserPurgeRes cancelPurge() {
+
+        UserPurgeRes status = allUsersPurger.cancel();
+        if (status == null) {
+            throw new CustomException(JOB_NOT_FOUND);
+        }
+        return status;
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고, 스프레드시트에서 수식으로 해석되는 값은 앞에 '를 붙임
+    private static String toCsvField(String value) {
+
+        if (value == null) return "";
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
 
     private User getUser(Long userId) {
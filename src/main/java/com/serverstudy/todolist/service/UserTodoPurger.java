@@ -0,0 +1,213 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.BoundedCache;
+import com.serverstudy.todolist.dto.response.UserDeletionRes;
+import com.serverstudy.todolist.dto.response.UserDeletionRes.Status;
+import com.serverstudy.todolist.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 삭제된 유저의 투두를 id 범위 단위로 나눠서 삭제, 범위마다 짧은 트랜잭션으로 실행해서 락과 undo 로그를 작게 유지
+// 투두가 sync-limit개 이하면 호출한 스레드에서 바로 삭제하고, 많으면 백그라운드에서 삭제하며 진행 상황을 조회할 수 있음
+// 도중에 서버가 종료되면 다음 시작 시 남은 투두를 이어서 삭제
+@Slf4j
+@Component
+public class UserTodoPurger {
+
+    private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final long syncLimit;
+
+    private final ExecutorService executor;
+    // userId -> 진행 중인 작업, 끝난 작업은 보관 기간 동안 조회 가능
+    private final ConcurrentHashMap<Long, PurgeJob> runningJobs = new ConcurrentHashMap<>();
+    private final BoundedCache<Long, PurgeJob> finishedJobs;
+
+    private final Counter deletedCounter;
+
+    public UserTodoPurger(TodoRepository todoRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${user.delete.chunk-size:1000}") int chunkSize,
+                          @Value("${user.delete.sync-limit:10000}") long syncLimit,
+                          @Value("${user.delete.job-retention-minutes:60}") long retentionMinutes,
+                          MeterRegistry meterRegistry) {
+
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.syncLimit = syncLimit;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-todo-purge-"));
+        this.finishedJobs = new BoundedCache<>(1000, TimeUnit.MINUTES.toMillis(retentionMinutes));
+
+        Gauge.builder("user.deletion.jobs.running", runningJobs, ConcurrentHashMap::size)
+                .description("진행 중인 유저 투두 삭제 작업 수")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("user.deletion.todos.deleted")
+                .description("유저 삭제로 삭제된 투두 수")
+                .register(meterRegistry);
+    }
+
+    // 이미 삭제 중이면 진행 중인 작업을 반환
+    public UserDeletionRes purge(long userId) {
+
+        PurgeJob job = new PurgeJob(userId, todoRepository.countByUserId(userId));
+        PurgeJob running = runningJobs.putIfAbsent(userId, job);
+        if (running != null) {
+            return running.toRes();
+        }
+
+        if (job.total > syncLimit) {
+            log.info("[로그] 유저 투두 백그라운드 삭제 시작 - userId: {}, total: {}", userId, job.total);
+            executor.execute(() -> run(job));
+            return job.toRes();
+        }
+
+        run(job);
+        // 유저는 이미 삭제되었으므로 실패한 채로 응답하지 않고, 남은 투두는 백그라운드에서 다시 삭제
+        if (job.status == Status.FAILED) {
+            log.warn("[로그] 유저 투두 삭제 실패, 백그라운드에서 다시 시도 - userId: {}", userId);
+            return purgeInBackground(userId);
+        }
+        return job.toRes();
+    }
+
+    private UserDeletionRes purgeInBackground(long userId) {
+
+        PurgeJob job = new PurgeJob(userId, todoRepository.countByUserId(userId));
+        PurgeJob running = runningJobs.putIfAbsent(userId, job);
+        if (running != null) {
+            return running.toRes();
+        }
+        executor.execute(() -> run(job));
+        return job.toRes();
+    }
+
+    public UserDeletionRes getStatus(long userId) {
+
+        PurgeJob job = runningJobs.get(userId);
+        if (job == null) job = finishedJobs.get(userId);
+
+        return (job == null) ? null : job.toRes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOrphans() {
+
+        // 유저 id 순서로 chunkSize명씩 나눠서 조회 (남은 유저가 많아도 한 번에 읽지 않음)
+        executor.execute(() -> {
+            long afterUserId = 0;
+            long users = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> userIds = todoRepository.findOrphanUserIds(afterUserId, Limit.of(chunkSize));
+                if (userIds.isEmpty()) break;
+
+                for (Long userId : userIds) {
+                    if (Thread.currentThread().isInterrupted()) return;
+                    PurgeJob job = new PurgeJob(userId, todoRepository.countByUserId(userId));
+                    if (runningJobs.putIfAbsent(userId, job) == null) run(job);
+                }
+                users += userIds.size();
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+            if (users > 0) {
+                log.info("[로그] 삭제된 유저의 남은 투두 삭제 - users: {}", users);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();     // 중단된 작업은 다음 시작 시 이어서 삭제
+    }
+
+    private void run(PurgeJob job) {
+
+        try {
+            long afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                long from = afterId;
+                Long lastId = transaction.execute(status -> deleteChunk(job, from));
+                if (lastId == null) break;
+                afterId = lastId;
+            }
+            job.finish(Thread.currentThread().isInterrupted() ? Status.FAILED : Status.COMPLETED);
+            eventPublisher.publishEvent(TodoChangedEvent.userCleared(job.userId));
+            log.info("[로그] 유저 투두 삭제 종료 - userId: {}, status: {}, deleted: {}", job.userId, job.status, job.deleted.get());
+        } catch (RuntimeException e) {
+            job.finish(Status.FAILED);
+            log.error("[로그] 유저 투두 삭제 실패 - userId: {}, deleted: {}", job.userId, job.deleted.get(), e);
+        } finally {
+            runningJobs.remove(job.userId, job);
+            finishedJobs.put(job.userId, job);
+        }
+    }
+
+    // 다음 chunkSize개의 id 범위를 삭제하고 범위의 마지막 id 반환, 남은 투두가 없으면 null
+    private Long deleteChunk(PurgeJob job, long afterId) {
+
+        List<Long> todoIds = todoRepository.findIdsByUserId(job.userId, afterId, Limit.of(chunkSize));
+        if (todoIds.isEmpty()) return null;
+
+        long lastId = todoIds.get(todoIds.size() - 1);
+        int count = todoRepository.deleteAllByUserIdAndIdRange(job.userId, afterId, lastId);
+        job.deleted.addAndGet(count);
+        deletedCounter.increment(count);
+
+        return lastId;
+    }
+
+    private static final class PurgeJob {
+
+        private final long userId;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong deleted = new AtomicLong();
+        private volatile Status status = Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+
+        private PurgeJob(long userId, long total) {
+            this.userId = userId;
+            this.total = total;
+        }
+
+        private void finish(Status status) {
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private UserDeletionRes toRes() {
+            return UserDeletionRes.builder()
+                    .userId(userId)
+                    .status(status)
+                    .totalTodos(total)
+                    .deletedTodos(deleted.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
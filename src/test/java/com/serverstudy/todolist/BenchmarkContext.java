@@ -0,0 +1,19 @@
+package com.serverstudy.todolist;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// JMH 벤치마크용 애플리케이션 컨텍스트, 테스트 설정(src/test/resources)에 속성을 덧붙여서 실행
+// 요청마다 남기는 INFO 로그가 측정에 섞이지 않도록 WARN 이상만 출력
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TodolistApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
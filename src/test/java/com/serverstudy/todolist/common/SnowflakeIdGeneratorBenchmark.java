@@ -0,0 +1,40 @@
+package com.serverstudy.todolist.common;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// id 생성 비용 (user-022)
+// nextId: 한 스레드, nextIdContended: 4개 스레드가 같은 생성기를 공유 (CAS 경합)
+// 시퀀스가 넘치면 다음 ms를 당겨 쓰므로, 1ms에 512개를 넘는 속도로 호출해도 기다리지 않음
+// sequence: AtomicLong 증가만 하는 기준값
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Benchmark
+    @Threads(1)
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long nextIdContended() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long sequence() {
+        return sequence.incrementAndGet();
+    }
+}
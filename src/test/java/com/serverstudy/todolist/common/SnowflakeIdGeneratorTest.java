@@ -0,0 +1,101 @@
+package com.serverstudy.todolist.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void 여러_스레드에서_생성해도_중복이_없고_스레드마다_증가() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> all = new HashSet<>(THREADS * IDS_PER_THREAD * 2);
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get(1, TimeUnit.MINUTES);
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    assertThat(all.add(ids[i])).as("중복 id %d", ids[i]).isTrue();
+                }
+            }
+            assertThat(all).hasSize(THREADS * IDS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 시퀀스가_넘쳐도_다음_ms를_당겨_쓰며_계속_증가() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0);
+
+        // 1ms에 512개를 넘도록 한 번에 생성
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        // 당겨 쓴 시간은 실제 시각보다 조금 앞설 수 있음
+        assertThat(SnowflakeIdGenerator.timestampMillis(previous)).isLessThan(System.currentTimeMillis() + 1_000);
+    }
+
+    @Test
+    void 노드가_다르면_같은_시각에도_id가_다름() {
+        SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1);
+        SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(node1.nextId());
+            ids.add(node2.nextId());
+        }
+        assertThat(ids).hasSize(20_000);
+    }
+
+    @Test
+    void id에서_생성_시각을_꺼낼_수_있고_53비트_안에_들어감() {
+        long before = System.currentTimeMillis();
+        long id = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID).nextId();
+        long after = System.currentTimeMillis();
+
+        assertThat(SnowflakeIdGenerator.timestampMillis(id)).isBetween(before, after);
+        assertThat(id).isLessThan(1L << 53);
+    }
+
+    @Test
+    void 범위를_벗어난_노드_id는_예외() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
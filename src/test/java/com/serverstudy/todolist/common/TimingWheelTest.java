@@ -0,0 +1,107 @@
+package com.serverstudy.todolist.common;
+
+import com.serverstudy.todolist.common.TimingWheel.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long START = 1_000_000L * TICK;
+
+    private final TimingWheel<Integer> wheel = new TimingWheel<>(TICK, START);
+
+    @Test
+    void 만료_시각이_된_항목만_만료_시각_순서로_반환() {
+        wheel.schedule(3, START + 3 * TICK);
+        wheel.schedule(1, START + TICK);
+        wheel.schedule(2, START + 2 * TICK);
+
+        assertThat(values(wheel.advance(START + 2 * TICK))).containsExactly(1, 2);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(values(wheel.advance(START + 3 * TICK))).containsExactly(3);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void 이미_지난_시각은_다음_advance에서_만료() {
+        wheel.schedule(1, START - 10 * TICK);
+
+        assertThat(values(wheel.advance(START))).containsExactly(1);
+    }
+
+    @Test
+    void 상위_레벨_항목은_하위_레벨로_내려와서_정확한_틱에_만료() {
+        // 레벨 1 (64틱 이상), 레벨 2 (4096틱 이상), 레벨 3 (262144틱 이상)
+        long[] offsets = {100, 5_000, 300_000};
+        for (int i = 0; i < offsets.length; i++) {
+            wheel.schedule(i, START + offsets[i] * TICK);
+        }
+        assertThat(wheel.size(1) + wheel.size(2) + wheel.size(3)).isEqualTo(3);
+
+        for (int i = 0; i < offsets.length; i++) {
+            assertThat(wheel.advance(START + (offsets[i] - 1) * TICK)).isEmpty();
+            assertThat(values(wheel.advance(START + offsets[i] * TICK))).containsExactly(i);
+        }
+    }
+
+    @Test
+    void 무작위_만료_시각도_모두_제시간에_한_번씩_만료() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = START + random.nextInt(20_000) * TICK + random.nextInt((int) TICK);
+            deadlines.add(deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        List<Integer> expired = new ArrayList<>();
+        for (long now = START; now <= START + 20_000 * TICK; now += 7 * TICK) {
+            for (Timeout<Integer> timeout : wheel.advance(now)) {
+                assertThat(timeout.getDeadlineMillis() / TICK).isLessThanOrEqualTo(now / TICK);
+                assertThat(timeout.getDeadlineMillis() / TICK).isGreaterThan(now / TICK - 7);
+                expired.add(timeout.getValue());
+            }
+        }
+        assertThat(expired).hasSize(deadlines.size()).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void 취소된_항목은_만료되지_않음() {
+        Timeout<Integer> cancelled = wheel.schedule(1, START + 100 * TICK);
+        wheel.schedule(2, START + 100 * TICK);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(values(wheel.advance(START + 100 * TICK))).containsExactly(2);
+    }
+
+    @Test
+    void clear는_모든_항목을_취소() {
+        Timeout<Integer> near = wheel.schedule(1, START + TICK);
+        Timeout<Integer> far = wheel.schedule(2, START + 10_000 * TICK);
+
+        wheel.clear();
+
+        assertThat(wheel.size()).isZero();
+        for (int level = 0; level < wheel.getLevels(); level++) {
+            assertThat(wheel.size(level)).isZero();
+        }
+        assertThat(wheel.cancel(near)).isFalse();
+        assertThat(wheel.cancel(far)).isFalse();
+        assertThat(wheel.advance(START + 10_000 * TICK)).isEmpty();
+
+        wheel.schedule(3, START + 10_001 * TICK);
+        assertThat(values(wheel.advance(START + 10_001 * TICK))).containsExactly(3);
+    }
+
+    private static List<Integer> values(List<Timeout<Integer>> timeouts) {
+        return timeouts.stream().map(Timeout::getValue).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.serverstudy.todolist.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serverstudy.todolist.security.PasswordHasher;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+// open-in-view를 포함한 실제 요청 경로를 확인하기 위해 서버를 띄워서 테스트
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserControllerTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @SpyBean
+    private PasswordHasher passwordHasher;
+
+    // 해싱 시점의 트랜잭션 활성 여부, 사용 중인 커넥션 수
+    private final List<Boolean> transactionActive = new ArrayList<>();
+    private final List<Integer> activeConnections = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 기본 HttpURLConnection은 PATCH를 지원하지 않음
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+        doAnswer(invocation -> {
+            record();
+            return invocation.callRealMethod();
+        }).when(passwordHasher).encode(any());
+        doAnswer(invocation -> {
+            record();
+            return invocation.callRealMethod();
+        }).when(passwordHasher).matches(any(), anyString());
+    }
+
+    private void record() {
+        transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+        activeConnections.add(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections());
+    }
+
+    @Test
+    void 회원가입_로그인_비밀번호_변경_중_해싱은_커넥션_없이_수행() throws Exception {
+        String email = "hash" + SEQUENCE.incrementAndGet() + "@test.com";
+
+        String token = accessToken("/api/users", Map.of("email", email, "password", "abcd1234", "nickname", "abc"));
+        accessToken("/api/users/login", Map.of("email", email, "password", "abcd1234"));
+        assertThat(exchange(HttpMethod.PATCH, "/api/users/password", token,
+                Map.of("existingPassword", "abcd1234", "newPassword", "abcd12345")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        // join: encode, login: matches, modifyPassword: matches + encode
+        assertThat(transactionActive).hasSize(4).containsOnly(false);
+        assertThat(activeConnections).containsOnly(0);
+
+        // 변경된 비밀번호로만 로그인 가능, 기존 토큰은 폐기
+        accessToken("/api/users/login", Map.of("email", email, "password", "abcd12345"));
+        assertThat(exchange(HttpMethod.GET, "/api/users", token, null).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void 기존_비밀번호가_다르면_변경_실패() throws Exception {
+        String email = "hash" + SEQUENCE.incrementAndGet() + "@test.com";
+        String token = accessToken("/api/users", Map.of("email", email, "password", "abcd1234", "nickname", "abc"));
+
+        assertThat(exchange(HttpMethod.PATCH, "/api/users/password", token,
+                Map.of("existingPassword", "wrong1234", "newPassword", "abcd12345")).getStatusCode().is4xxClientError())
+                .isTrue();
+        assertThat(exchange(HttpMethod.GET, "/api/users", token, null).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> exchange(HttpMethod method, String url, String token, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) headers.set("Auth-Token", token);
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String accessToken(String url, Map<String, String> body) throws Exception {
+        ResponseEntity<String> response = exchange(HttpMethod.POST, url, null, body);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        return objectMapper.readTree(response.getBody()).get("accessToken").asText();
+    }
+}
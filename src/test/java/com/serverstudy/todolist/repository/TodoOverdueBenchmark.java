@@ -0,0 +1,83 @@
+package com.serverstudy.todolist.repository;
+
+import com.serverstudy.todolist.BenchmarkContext;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 지난 마감 기한 첫 페이지 조회 비교 (user-015), 한 유저의 투두 중 마감 기한이 지난 투두 대부분이 완료 상태
+// deadlineIndex: idx_todo_user_deadline 으로 읽으며 완료된 투두를 하나씩 거름 (변경 전)
+// progressDeadlineIndex: idx_todo_user_progress_deadline 으로 완료되지 않은 투두만 읽음
+// repository: 실제 TodoRepository.findOverdueFirstPage
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoOverdueBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+    private static final String SELECT = "SELECT id, title, description, deadline, priority, progress FROM todo_tb ";
+    private static final String WHERE = "WHERE user_id = ? AND deadline < CURRENT_TIMESTAMP AND progress_ordinal = 0 " +
+            "ORDER BY deadline, priority, id LIMIT " + (PAGE_SIZE + 1);
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TodoRepository todoRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        todoRepository = context.getBean(TodoRepository.class);
+        insertMostlyDoneTodos(jdbcTemplate, USER_ID, rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> deadlineIndex() {
+        return jdbcTemplate.queryForList("SELECT id FROM (" + SELECT + "USE INDEX (idx_todo_user_deadline) " + WHERE + ")",
+                Long.class, USER_ID);
+    }
+
+    @Benchmark
+    public List<Long> progressDeadlineIndex() {
+        return jdbcTemplate.queryForList("SELECT id FROM (" + SELECT + "USE INDEX (idx_todo_user_progress_deadline) " + WHERE + ")",
+                Long.class, USER_ID);
+    }
+
+    @Benchmark
+    public List<TodoRes> repository() {
+        return todoRepository.findOverdueFirstPage(USER_ID, LocalDateTime.now(), Limit.of(PAGE_SIZE + 1));
+    }
+
+    // 마감 기한이 지난 투두 중 1%만 완료되지 않음, 완료되지 않은 투두는 마감 기한이 가장 늦은 쪽에 몰려 있음
+    private static void insertMostlyDoneTodos(JdbcTemplate jdbcTemplate, long userId, int rows) {
+        List<Object[]> args = new ArrayList<>(rows);
+        int todoRows = rows / 100;
+        for (int i = 0; i < rows; i++) {
+            boolean done = i < rows - todoRows;
+            args.add(new Object[]{i + 1L, "todo " + i, "description " + i, i - rows - 1, i % 4,
+                    done ? "DONE" : "TODO", done ? 1 : 0, userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO todo_tb (id, title, description, deadline, priority, progress, progress_ordinal, user_id) " +
+                "VALUES (?, ?, ?, DATEADD('MINUTE', ?, CURRENT_TIMESTAMP), ?, ?, ?, ?)", args);
+    }
+}
@@ -0,0 +1,88 @@
+package com.serverstudy.todolist.repository;
+
+import com.serverstudy.todolist.BenchmarkContext;
+import com.serverstudy.todolist.domain.Todo;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 투두 목록 조회 비교 (user-010), 한 유저의 투두 10k개
+// entity: 엔티티로 조회 후 TodoRes로 변환 (변경 전), 영속성 컨텍스트 스냅샷과 dirty checking 비용 포함
+// projection: JPQL 생성자 표현식으로 TodoRes를 바로 조회
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoProjectionBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        insertTodos(context.getBean(JdbcTemplate.class), USER_ID, rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoRes> entity() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT t FROM Todo t WHERE t.userId = :userId ORDER BY t.progressOrdinal, t.id", Todo.class)
+                .setParameter("userId", USER_ID)
+                .getResultList().stream()
+                .map(todo -> TodoRes.builder()
+                        .id(todo.getId())
+                        .title(todo.getTitle())
+                        .description(todo.getDescription())
+                        .deadline(todo.getDeadline())
+                        .priority(todo.getPriority())
+                        .progress(todo.getProgress())
+                        .build())
+                .toList());
+    }
+
+    @Benchmark
+    public List<TodoRes> projection() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT new com.serverstudy.todolist.dto.response.TodoRes(t.id, t.title, t.description, t.deadline, t.priority, t.progress) " +
+                        "FROM Todo t WHERE t.userId = :userId ORDER BY t.progressOrdinal, t.id", TodoRes.class)
+                .setParameter("userId", USER_ID)
+                .getResultList());
+    }
+
+    // JDBC 배치로 한 번에 저장, id는 1부터 순서대로
+    static void insertTodos(JdbcTemplate jdbcTemplate, long userId, int rows) {
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM todo_tb", Long.class) + 1;
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            args.add(new Object[]{firstId + i, "todo " + i, "description " + i, i - rows / 2, i % 4,
+                    i % 3 == 0 ? "DONE" : "TODO", i % 3 == 0 ? 1 : 0, userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO todo_tb (id, title, description, deadline, priority, progress, progress_ordinal, user_id) " +
+                "VALUES (?, ?, ?, DATEADD('MINUTE', ?, CURRENT_TIMESTAMP), ?, ?, ?, ?)", args);
+    }
+}
@@ -0,0 +1,120 @@
+package com.serverstudy.todolist.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 목록, 마감 기한 조회가 의도한 인덱스를 사용하는지 H2 실행 계획으로 확인
+// 쿼리는 TodoRepository의 JPQL이 생성하는 SQL과 같은 형태
+// H2는 앞쪽 컬럼이 등호 조건이어도 정렬 생략(index sorted)을 표시하지 않으므로 인덱스와 인덱스 조건만 확인
+@SpringBootTest
+class TodoQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todo_tb");
+        long id = 1;
+        for (long userId = 1; userId <= 20; userId++) {
+            for (int i = 0; i < 50; i++, id++) {
+                jdbcTemplate.update("INSERT INTO todo_tb (id, title, deadline, priority, progress, progress_ordinal, user_id) " +
+                                "VALUES (?, ?, DATEADD('DAY', ?, CURRENT_TIMESTAMP), ?, ?, ?, ?)",
+                        id, "todo" + id, i - 25, i % 4, i % 2 == 0 ? "TODO" : "DONE", i % 2, userId);
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void 우선_순위별_목록은_정렬까지_인덱스로_처리() {
+        String plan = explain("SELECT id, title, description, deadline, priority, progress FROM todo_tb " +
+                "WHERE user_id = 1 AND priority = 2 " +
+                "AND (progress_ordinal > 0 OR (progress_ordinal = 0 AND id > 0)) " +
+                "ORDER BY progress_ordinal, id LIMIT 21");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_PRIORITY_PROGRESS")
+                .contains("USER_ID = CAST(1 AS BIGINT)").contains("PRIORITY = 2");
+    }
+
+    @Test
+    void 지난_마감_기한_목록은_정렬까지_인덱스로_처리() {
+        String plan = explain("SELECT id, title, description, deadline, priority, progress FROM todo_tb " +
+                "WHERE user_id = 1 AND deadline < CURRENT_TIMESTAMP AND progress_ordinal = 0 " +
+                "ORDER BY deadline, priority, id LIMIT 21");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_PROGRESS_DEADLINE")
+                .contains("USER_ID = CAST(1 AS BIGINT)").contains("PROGRESS_ORDINAL = 0").contains("DEADLINE < CURRENT_TIMESTAMP");
+    }
+
+    @Test
+    void 지난_마감_기한_수는_인덱스_범위로_처리() {
+        String plan = explain("SELECT COUNT(*) FROM todo_tb " +
+                "WHERE user_id = 1 AND deadline < CURRENT_TIMESTAMP AND progress_ordinal = 0");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_PROGRESS_DEADLINE")
+                .contains("PROGRESS_ORDINAL = 0").contains("DEADLINE < CURRENT_TIMESTAMP");
+    }
+
+    @Test
+    void 마감_기한_범위_목록은_deadline_인덱스_사용() {
+        String plan = explain("SELECT id, title, description, deadline, priority, progress FROM todo_tb " +
+                "WHERE user_id = 1 AND deadline >= CURRENT_TIMESTAMP AND deadline < DATEADD('DAY', 7, CURRENT_TIMESTAMP) " +
+                "ORDER BY deadline, priority, id LIMIT 21");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_DEADLINE")
+                .contains("USER_ID = CAST(1 AS BIGINT)");
+    }
+
+    @Test
+    void 우선_순위별_내보내기는_인덱스_범위로_처리() {
+        String plan = explain("SELECT id, title, description, deadline, priority, progress FROM todo_tb " +
+                "WHERE user_id = 1 AND priority = 2 AND progress_ordinal = 0 AND id > 0 ORDER BY id LIMIT 1000");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_PRIORITY_PROGRESS")
+                .contains("PRIORITY = 2").contains("PROGRESS_ORDINAL = 0").contains("ID > CAST(0 AS BIGINT)");
+    }
+
+    @Test
+    void 전체_내보내기는_user_id_id_인덱스_사용() {
+        String plan = explain("SELECT id, title, description, deadline, priority, progress FROM todo_tb " +
+                "WHERE user_id = 1 AND progress_ordinal = 0 AND id > 0 ORDER BY id LIMIT 1000");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_ID")
+                .contains("USER_ID = CAST(1 AS BIGINT)").contains("ID > CAST(0 AS BIGINT)");
+    }
+
+    @Test
+    void 검색_색인_생성은_user_id_id_인덱스_순서로_읽음() {
+        String plan = explain("SELECT user_id, id, title, description FROM todo_tb ORDER BY user_id, id");
+        String userPlan = explain("SELECT user_id, id, title, description FROM todo_tb WHERE user_id = 1 ORDER BY id");
+
+        // 정렬 컬럼이 인덱스 앞부분과 같으면 H2도 정렬 생략을 표시함
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_ID");
+        assertThat(plan).contains("index sorted");
+        assertThat(indexCondition(userPlan)).contains("IDX_TODO_USER_ID").contains("USER_ID = CAST(1 AS BIGINT)");
+    }
+
+    @Test
+    void 유저_투두_삭제는_user_id_id_인덱스_사용() {
+        String plan = explain("SELECT id FROM todo_tb WHERE user_id = 1 AND id > 0 ORDER BY id LIMIT 1000");
+
+        assertThat(indexCondition(plan)).contains("IDX_TODO_USER_ID")
+                .contains("USER_ID = CAST(1 AS BIGINT)").contains("ID > CAST(0 AS BIGINT)");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    // 실행 계획에서 사용한 인덱스와 인덱스 조건 부분 (/* PUBLIC.인덱스: 조건 */)
+    private String indexCondition(String plan) {
+        int start = plan.indexOf("/*");
+        return plan.substring(start, plan.indexOf("*/", start));
+    }
+}
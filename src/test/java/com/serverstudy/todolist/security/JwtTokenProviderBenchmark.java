@@ -0,0 +1,99 @@
+package com.serverstudy.todolist.security;
+
+import com.serverstudy.todolist.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// 요청 당 JWT 처리 비용 비교
+// legacyParseTwice: 변경 전 경로 (매번 키/파서 생성, validateToken + getUsername으로 두 번 파싱)
+// verifyMiss: 파서 재사용 + 한 번만 파싱 (캐시 미스)
+// verifyHit: 검증된 토큰 캐시 적중
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider missProvider;
+    private String encodedSecret;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = newProvider(10000);
+        // 캐시 크기 1에서 토큰 두 개를 번갈아 검증하면 매번 캐시 미스
+        missProvider = newProvider(1);
+        encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+
+        token = cachedProvider.createToken(newUser(1L));
+        tokens = new String[]{token, cachedProvider.createToken(newUser(2L))};
+        cachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public String legacyParseTwice() {
+        if (!legacyValidateToken(token)) return null;
+        return legacyGetUsername(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyMiss() {
+        next ^= 1;
+        return missProvider.verify(tokens[next]);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyHit() {
+        return cachedProvider.verify(token);
+    }
+
+    private boolean legacyValidateToken(String jwtToken) {
+        try {
+            Jws<Claims> claims = Jwts.parser().verifyWith(legacySigningKey()).build().parseSignedClaims(jwtToken);
+            return !claims.getPayload().getExpiration().before(new Date());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String legacyGetUsername(String jwtToken) {
+        return Jwts.parser().verifyWith(legacySigningKey()).build().parseSignedClaims(jwtToken).getPayload().getSubject();
+    }
+
+    private SecretKey legacySigningKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(encodedSecret));
+    }
+
+    static JwtTokenProvider newProvider(int verifiedCacheMaxSize) {
+        JwtTokenProvider provider = new JwtTokenProvider(null, null);
+        ReflectionTestUtils.setField(provider, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        ReflectionTestUtils.setField(provider, "verifiedCacheTtlSeconds", 600L);
+        ReflectionTestUtils.setField(provider, "stateless", true);
+        provider.init();
+        return provider;
+    }
+
+    static User newUser(long id) {
+        User user = User.builder().email("user" + id + "@test.com").password("password").nickname("user" + id).build();
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}
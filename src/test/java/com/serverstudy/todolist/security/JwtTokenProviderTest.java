@@ -0,0 +1,33 @@
+package com.serverstudy.todolist.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private final JwtTokenProvider jwtTokenProvider = JwtTokenProviderBenchmark.newProvider(100);
+
+    @Test
+    void verify_유저_클레임_포함() {
+        String token = jwtTokenProvider.createToken(JwtTokenProviderBenchmark.newUser(7L));
+
+        VerifiedToken verifiedToken = jwtTokenProvider.verify(token);
+
+        assertThat(verifiedToken).isNotNull();
+        assertThat(verifiedToken.hasUserClaims()).isTrue();
+        assertThat(verifiedToken.userId()).isEqualTo(7L);
+        assertThat(verifiedToken.subject()).isEqualTo("user7@test.com");
+        // 두 번째 검증은 캐시에서 같은 결과를 반환
+        assertThat(jwtTokenProvider.verify(token)).isSameAs(verifiedToken);
+    }
+
+    @Test
+    void verify_서명이_다르면_null() {
+        String token = jwtTokenProvider.createToken(JwtTokenProviderBenchmark.newUser(7L));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtTokenProvider.verify(tampered)).isNull();
+        assertThat(jwtTokenProvider.validateToken("not-a-token")).isFalse();
+    }
+}
@@ -0,0 +1,106 @@
+package com.serverstudy.todolist.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void 용량만큼만_허용() {
+        LoginThrottle.RateLimiter rateLimiter = new LoginThrottle.RateLimiter(5, INTERVAL_NANOS, 100);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("a@test.com", now)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire("a@test.com", now)).isFalse();
+        // 한 주기가 지나면 토큰 하나 충전
+        assertThat(rateLimiter.tryAcquire("a@test.com", now + INTERVAL_NANOS)).isTrue();
+    }
+
+    @Test
+    void 키가_가득_차면_토큰을_쓴_버킷은_버리지_않고_새_키를_거절() {
+        LoginThrottle.RateLimiter rateLimiter = new LoginThrottle.RateLimiter(5, INTERVAL_NANOS, 1000);
+        long now = System.nanoTime();
+
+        // 피해자의 버킷을 모두 사용
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("victim@test.com", now)).isTrue();
+        }
+        // 키를 바꿔가며 시도해서 테이블을 채움
+        int accepted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (rateLimiter.tryAcquire("key" + i, now)) accepted++;
+        }
+
+        assertThat(accepted).isLessThan(1000);
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(1000);
+        assertThat(rateLimiter.getEvictionCount()).isZero();
+        assertThat(rateLimiter.getOverflowCount()).isGreaterThanOrEqualTo(9000);
+        // 피해자의 제한은 그대로 유지
+        assertThat(rateLimiter.tryAcquire("victim@test.com", now)).isFalse();
+    }
+
+    @Test
+    void 가득_찬_버킷은_새_키를_위해_버림() {
+        LoginThrottle.RateLimiter rateLimiter = new LoginThrottle.RateLimiter(5, INTERVAL_NANOS, 160);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("old" + i, now);
+        }
+        // 한 주기가 지나면 한 번 시도한 버킷은 다시 가득 참
+        long later = now + INTERVAL_NANOS;
+        for (int i = 0; i < 100; i++) {
+            assertThat(rateLimiter.tryAcquire("new" + i, later)).isTrue();
+        }
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(160);
+        assertThat(rateLimiter.getEvictionCount()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void 동시_요청에서_키마다_정확히_용량만큼_허용() throws Exception {
+        int capacity = 5;
+        int keys = 5000;
+        int threads = 16;
+        int attemptsPerKey = 20;
+        // stripe마다 키가 고르게 나뉘지 않으므로 여유 있게 설정, 버려지는 키가 없어야 정확히 비교 가능
+        LoginThrottle.RateLimiter rateLimiter = new LoginThrottle.RateLimiter(capacity, INTERVAL_NANOS, keys * 4);
+        long now = System.nanoTime();
+
+        AtomicIntegerArray acquired = new AtomicIntegerArray(keys);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < keys * attemptsPerKey / threads; i++) {
+                        int key = (i * 7919 + offset) % keys;
+                        if (rateLimiter.tryAcquire("key" + key, now)) acquired.incrementAndGet(key);
+                        // 요청 도중 정리 작업이 끼어들어도 갱신이 유실되지 않아야 함
+                        if (i % 1000 == 0) rateLimiter.evictIdle(now);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(rateLimiter.getEvictionCount()).isZero();
+        for (int key = 0; key < keys; key++) {
+            assertThat(acquired.get(key)).as("key%d", key).isEqualTo(capacity);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.serverstudy.todolist.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private final BcryptCostCalibrator bcryptCostCalibrator = new BcryptCostCalibrator(0, 11);
+    private final PasswordEncoder passwordEncoder = new SecurityConfig(null).passwordEncoder(bcryptCostCalibrator);
+    private final PasswordHasher passwordHasher =
+            new PasswordHasher(passwordEncoder, bcryptCostCalibrator, 2, 16, 60000, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void encode_측정한_strength의_bcrypt로_저장() {
+        String encodedPassword = passwordHasher.encode("abcd1234");
+
+        assertThat(encodedPassword).startsWith("{bcrypt}$2a$11$");
+        assertThat(passwordHasher.matches("abcd1234", encodedPassword)).isTrue();
+        assertThat(passwordHasher.needsRehash(encodedPassword)).isFalse();
+    }
+
+    @Test
+    void bcrypt가_아닌_기존_해시도_검증() {
+        String pbkdf2 = "{pbkdf2@SpringSecurity_v5_8}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("abcd1234");
+
+        assertThat(passwordHasher.matches("abcd1234", "{noop}abcd1234")).isTrue();
+        assertThat(passwordHasher.matches("abcd1234", pbkdf2)).isTrue();
+        assertThat(passwordHasher.matches("wrong1234", pbkdf2)).isFalse();
+        // bcrypt가 아니면 로그인 시 bcrypt로 다시 저장
+        assertThat(passwordHasher.needsRehash(pbkdf2)).isTrue();
+    }
+
+    @Test
+    void needsRehash_cost가_낮을_때만() {
+        String lower = "{bcrypt}" + new BCryptPasswordEncoder(10).encode("abcd1234");
+        String higher = "{bcrypt}" + new BCryptPasswordEncoder(12).encode("abcd1234");
+
+        assertThat(passwordHasher.needsRehash(lower)).isTrue();
+        assertThat(passwordHasher.needsRehash(higher)).isFalse();
+        assertThat(passwordHasher.matches("abcd1234", higher)).isTrue();
+    }
+}
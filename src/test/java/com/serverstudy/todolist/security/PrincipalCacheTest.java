@@ -0,0 +1,45 @@
+package com.serverstudy.todolist.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private SecurityUser user(long id) {
+        return new SecurityUser(id, "user" + id + "@test.com", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void evict_유저_단위로_삭제() {
+        PrincipalCache principalCache = new PrincipalCache(100, 60, new SimpleMeterRegistry());
+        principalCache.put(user(1L));
+        principalCache.put(user(2L));
+
+        principalCache.evict(1L);
+
+        assertThat(principalCache.get("user1@test.com")).isNull();
+        assertThat(principalCache.get("user2@test.com")).isNotNull();
+    }
+
+    @Test
+    void 크기_초과로_제거된_항목은_인덱스에서도_제거() {
+        PrincipalCache principalCache = new PrincipalCache(2, 60, new SimpleMeterRegistry());
+        principalCache.put(user(1L));
+        principalCache.put(user(2L));
+        principalCache.put(user(3L));  // user1 제거
+
+        assertThat(principalCache.size()).isEqualTo(2);
+        assertThat(principalCache.get("user1@test.com")).isNull();
+
+        // 다시 캐시된 user1은 evict로 삭제 가능해야 함
+        principalCache.put(user(1L));
+        principalCache.evict(1L);
+        assertThat(principalCache.get("user1@test.com")).isNull();
+        assertThat(principalCache.get("user3@test.com")).isNotNull();
+    }
+}
@@ -0,0 +1,66 @@
+package com.serverstudy.todolist.security;
+
+import com.serverstudy.todolist.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TokenVersionTableTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isCurrent_한_번만_DB_조회() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        TokenVersionTable tokenVersionTable = new TokenVersionTable(16, userRepository);
+
+        assertThat(tokenVersionTable.isCurrent(1L, 0)).isTrue();
+        assertThat(tokenVersionTable.isCurrent(1L, 0)).isTrue();
+        assertThat(tokenVersionTable.isCurrent(1L, 1)).isFalse();
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void 슬롯이_겹쳐_덮어써지면_DB에서_다시_조회() {
+        when(userRepository.findTokenVersionById(anyLong())).thenReturn(Optional.of(0));
+        // 슬롯 하나, 모든 유저가 같은 슬롯을 사용
+        TokenVersionTable tokenVersionTable = new TokenVersionTable(1, userRepository);
+
+        tokenVersionTable.revoke(1L);
+        assertThat(tokenVersionTable.isCurrent(2L, 0)).isTrue();
+
+        // 1번 유저 슬롯이 덮어써졌으므로 DB 값을 사용, 삭제된 유저는 DB에 없음
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+        assertThat(tokenVersionTable.isCurrent(1L, 0)).isFalse();
+    }
+
+    @Test
+    void updateAfterCommit_커밋_후에_반영() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        TokenVersionTable tokenVersionTable = new TokenVersionTable(16, userRepository);
+        assertThat(tokenVersionTable.isCurrent(1L, 0)).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        tokenVersionTable.updateAfterCommit(1L, 1);
+        // 커밋 전에는 기존 토큰 유효
+        assertThat(tokenVersionTable.isCurrent(1L, 0)).isTrue();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(tokenVersionTable.isCurrent(1L, 0)).isFalse();
+        assertThat(tokenVersionTable.isCurrent(1L, 1)).isTrue();
+    }
+}
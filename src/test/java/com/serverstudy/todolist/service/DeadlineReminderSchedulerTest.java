@@ -0,0 +1,89 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import com.serverstudy.todolist.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DeadlineReminderSchedulerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineReminderScheduler scheduler = new DeadlineReminderScheduler(mock(TodoRepository.class),
+            reminder -> { }, mock(PlatformTransactionManager.class), 1000, 60, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void 유저_투두_전체_삭제는_그_유저의_알림만_취소() {
+        for (long todoId = 1; todoId <= 10; todoId++) {
+            scheduler.onTodoChanged(TodoChangedEvent.created(todoId <= 5 ? 1L : 2L, todo(todoId)));
+        }
+        assertThat(wheelSize()).isEqualTo(10);
+
+        scheduler.onTodoChanged(TodoChangedEvent.userCleared(1L));
+        assertThat(wheelSize()).isEqualTo(5);
+
+        // 이미 비운 유저는 다시 비워도 그대로
+        scheduler.onTodoChanged(TodoChangedEvent.userCleared(1L));
+        assertThat(wheelSize()).isEqualTo(5);
+    }
+
+    @Test
+    void 완료나_삭제로_취소된_투두는_유저_삭제_때_다시_취소하지_않음() {
+        scheduler.onTodoChanged(TodoChangedEvent.created(1L, todo(1L)));
+        scheduler.onTodoChanged(TodoChangedEvent.created(1L, todo(2L)));
+        scheduler.onTodoChanged(TodoChangedEvent.deleted(1L, 1L));
+        scheduler.onTodoChanged(TodoChangedEvent.progressSwitched(1L, todo(2L), todo(2L, Progress.DONE)));
+        assertThat(wheelSize()).isZero();
+
+        // 다시 등록된 투두만 취소됨
+        scheduler.onTodoChanged(TodoChangedEvent.created(1L, todo(3L)));
+        scheduler.onTodoChanged(TodoChangedEvent.created(2L, todo(4L)));
+        scheduler.onTodoChanged(TodoChangedEvent.userCleared(1L));
+        assertThat(wheelSize()).isEqualTo(1);
+    }
+
+    @Test
+    void 모든_투두_삭제는_휠을_비움() {
+        for (long todoId = 1; todoId <= 10; todoId++) {
+            scheduler.onTodoChanged(TodoChangedEvent.created(todoId % 3, todo(todoId)));
+        }
+
+        scheduler.onTodoChanged(TodoChangedEvent.allCleared());
+        assertThat(wheelSize()).isZero();
+
+        scheduler.onTodoChanged(TodoChangedEvent.created(1L, todo(11L)));
+        assertThat(wheelSize()).isEqualTo(1);
+    }
+
+    private double wheelSize() {
+        return meterRegistry.get("todo.reminder.wheel.size").gauge().value();
+    }
+
+    private static TodoRes todo(long todoId) {
+        return todo(todoId, Progress.TODO);
+    }
+
+    private static TodoRes todo(long todoId, Progress progress) {
+        return TodoRes.builder()
+                .id(todoId)
+                .title("todo" + todoId)
+                .deadline(LocalDateTime.now().plusDays(1))
+                .priority(Priority.None)
+                .progress(progress)
+                .build();
+    }
+}
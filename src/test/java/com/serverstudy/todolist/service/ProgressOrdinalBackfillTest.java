@@ -0,0 +1,79 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.TodolistApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "todo.progress-ordinal.backfill-chunk-size=3")
+class ProgressOrdinalBackfillTest {
+
+    @Autowired
+    private ProgressOrdinalBackfill progressOrdinalBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void 값을_나눠서_채우고_NOT_NULL로_변경() {
+        // 컬럼 추가 이전 상태 재현
+        jdbcTemplate.execute("ALTER TABLE todo_tb MODIFY COLUMN progress_ordinal INT NULL");
+        for (long id = 1; id <= 10; id++) {
+            jdbcTemplate.update("INSERT INTO todo_tb (id, title, priority, progress, progress_ordinal, user_id) VALUES (?, ?, 0, ?, NULL, 1)",
+                    id, "todo" + id, id % 2 == 0 ? "DONE" : "TODO");
+        }
+
+        progressOrdinalBackfill.afterSingletonsInstantiated();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT progress, progress_ordinal FROM todo_tb WHERE user_id = 1");
+        assertThat(rows).hasSize(10).allSatisfy(row ->
+                assertThat(row.get("PROGRESS_ORDINAL")).isEqualTo("DONE".equals(row.get("PROGRESS")) ? 1 : 0));
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO todo_tb (id, title, priority, progress, progress_ordinal, user_id) VALUES (11, 'x', 0, 'TODO', NULL, 1)"))
+                .hasMessageContaining("NULL");
+
+        // 이미 NOT NULL이면 아무것도 하지 않음
+        progressOrdinalBackfill.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void 하이버네이트가_컬럼을_추가한_기존_테이블의_값을_채움() {
+        // 컬럼 추가 이전 테이블 재현 (컬럼을 포함한 인덱스도 함께 삭제)
+        jdbcTemplate.execute("DROP INDEX idx_todo_user_priority_progress");
+        jdbcTemplate.execute("DROP INDEX idx_todo_user_progress_deadline");
+        jdbcTemplate.execute("ALTER TABLE todo_tb DROP COLUMN progress_ordinal");
+        for (long id = 101; id <= 110; id++) {
+            jdbcTemplate.update("INSERT INTO todo_tb (id, title, priority, progress, user_id) VALUES (?, ?, 0, ?, 2)",
+                    id, "todo" + id, id % 2 == 0 ? "DONE" : "TODO");
+        }
+
+        // 같은 DB로 ddl-auto=update 애플리케이션을 시작해서 하이버네이트가 컬럼을 추가하고 ProgressOrdinalBackfill 실행
+        String url = ((HikariDataSource) dataSource).getJdbcUrl();
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(TodolistApplication.class)
+                .properties("server.port=0")
+                // application.properties보다 우선하도록 명령행 인자로 전달
+                .run("--spring.datasource.url=" + url, "--spring.jpa.hibernate.ddl-auto=update")) {
+
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT progress, progress_ordinal FROM todo_tb WHERE user_id = 2");
+            assertThat(rows).hasSize(10).allSatisfy(row ->
+                    assertThat(row.get("PROGRESS_ORDINAL")).isEqualTo("DONE".equals(row.get("PROGRESS")) ? 1 : 0));
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'TODO_TB' AND COLUMN_NAME = 'PROGRESS_ORDINAL'",
+                    String.class)).isEqualTo("NO");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.serverstudy.todolist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serverstudy.todolist.BenchmarkContext;
+import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoPost;
+import com.serverstudy.todolist.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 투두 저장 처리량 비교 (user-019), 호출 한 번에 TODOS개 저장, 점수는 투두 하나당 시간
+// single: 투두마다 create() 호출 (투두마다 트랜잭션, insert 하나씩)
+// batch: createAll() 한 번 (한 트랜잭션, saveAll + JDBC 배치)
+// jdbcBatchSize = 1이면 JDBC 배치를 끈 상태
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoBatchInsertBenchmark {
+
+    private static final int TODOS = 500;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private List<TodoPost> todoPosts;
+    private long userId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("jpa.jdbc.batch-size=" + jdbcBatchSize);
+        todoService = context.getBean(TodoService.class);
+        userId = context.getBean(UserRepository.class).save(User.builder()
+                .email("benchmark@test.com").password("password").nickname("benchmark").build()).getId();
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        todoPosts = new ArrayList<>(TODOS);
+        for (int i = 0; i < TODOS; i++) {
+            todoPosts.add(objectMapper.convertValue(Map.of(
+                    "title", "todo " + i, "description", "description " + i,
+                    "priority", "High", "progress", i % 2 == 0 ? "TODO" : "DONE"), TodoPost.class));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TODOS)
+    public long single() {
+        long last = 0;
+        for (TodoPost todoPost : todoPosts) {
+            last = todoService.create(todoPost, userId);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TODOS)
+    public List<Long> batch() {
+        return todoService.createAll(todoPosts, userId);
+    }
+}
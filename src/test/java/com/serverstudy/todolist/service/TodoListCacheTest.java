@@ -0,0 +1,67 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.dto.response.TodoPageRes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoListCacheTest {
+
+    private final TodoVersionTable todoVersionTable = new TodoVersionTable(1024);
+    private final TodoListCache todoListCache = new TodoListCache(100, 60, 8, todoVersionTable, new SimpleMeterRegistry());
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TodoPageRes load() {
+        loads.incrementAndGet();
+        return TodoPageRes.builder().todoList(List.of()).build();
+    }
+
+    @Test
+    void 변경되면_캐시를_삭제하고_ETag_변경() {
+        todoListCache.get(1L, null, null, 20, this::load);
+        todoListCache.get(1L, null, null, 20, this::load);
+        String eTag = todoVersionTable.getListETag(1L, null, null, 20);
+        assertThat(loads.get()).isEqualTo(1);
+
+        todoListCache.onTodoChanged(TodoChangedEvent.deleted(1L, 10L));
+
+        assertThat(todoVersionTable.getListETag(1L, null, null, 20)).isNotEqualTo(eTag);
+        todoListCache.get(1L, null, null, 20, this::load);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void ETag_버전이_바뀌는_시점에는_이미_캐시가_삭제됨() throws InterruptedException {
+        todoListCache.get(1L, null, null, 20, this::load);
+        long version = todoVersionTable.current(1L);
+
+        // 버전이 바뀐 것을 본 요청은 캐시가 아닌 DB에서 조회해야 함
+        Thread observer = new Thread(() -> {
+            while (todoVersionTable.current(1L) == version) {
+                Thread.onSpinWait();
+            }
+            todoListCache.get(1L, null, null, 20, this::load);
+        });
+        observer.start();
+        todoListCache.onTodoChanged(TodoChangedEvent.deleted(1L, 10L));
+
+        observer.join(5000);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 전체_삭제는_모든_유저의_ETag_변경() {
+        String eTag1 = todoVersionTable.getListETag(1L, null, null, 20);
+        String eTag2 = todoVersionTable.getListETag(2L, null, null, 20);
+
+        todoListCache.onTodoChanged(TodoChangedEvent.allCleared());
+
+        assertThat(todoVersionTable.getListETag(1L, null, null, 20)).isNotEqualTo(eTag1);
+        assertThat(todoVersionTable.getListETag(2L, null, null, 20)).isNotEqualTo(eTag2);
+    }
+}
@@ -0,0 +1,243 @@
+package com.serverstudy.todolist.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoOperation;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoPost;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoPut;
+import com.serverstudy.todolist.dto.response.TodoOperationRes;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import com.serverstudy.todolist.dto.response.TodoStatsRes;
+import com.serverstudy.todolist.exception.CustomException;
+import com.serverstudy.todolist.exception.ErrorCode;
+import com.serverstudy.todolist.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@RecordApplicationEvents
+class TodoServiceTest {
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long userId;
+    private long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = newUser();
+        otherUserId = newUser();
+    }
+
+    @Test
+    void 일괄_변경은_종류별로_실행하고_요청_순서대로_결과_반환() {
+        long updated = create(userId, "TODO");
+        long switched = create(userId, "TODO");
+        long deleted = create(userId, "DONE");
+
+        List<TodoOperationRes> results = todoService.applyAll(List.of(
+                operation("DELETE", deleted),
+                operation("UPDATE", updated, Map.of("title", "수정", "priority", "Low", "progress", "DONE")),
+                operation("SWITCH", switched)), userId);
+
+        assertThat(results).extracting(TodoOperationRes::getTodoId).containsExactly(deleted, updated, switched);
+        assertThat(results).extracting(TodoOperationRes::getStatus).containsOnly(200);
+        assertThat(row(updated)).containsEntry("TITLE", "수정").containsEntry("PROGRESS", "DONE").containsEntry("PROGRESS_ORDINAL", 1);
+        assertThat(row(switched)).containsEntry("PROGRESS", "DONE").containsEntry("PROGRESS_ORDINAL", 1);
+        assertThat(count(deleted)).isZero();
+    }
+
+    @Test
+    void 다른_유저의_투두는_404이고_변경하지_않음() {
+        long mine = create(userId, "TODO");
+        long others = create(otherUserId, "TODO");
+        long othersUpdated = create(otherUserId, "TODO");
+        long othersDeleted = create(otherUserId, "TODO");
+
+        List<TodoOperationRes> results = todoService.applyAll(List.of(
+                operation("SWITCH", mine),
+                operation("SWITCH", others),
+                operation("UPDATE", othersUpdated, Map.of("title", "수정", "priority", "Low", "progress", "DONE")),
+                operation("DELETE", othersDeleted)), userId);
+
+        assertThat(results).extracting(TodoOperationRes::getStatus).containsExactly(200, 404, 404, 404);
+        assertThat(results).extracting(TodoOperationRes::getCode)
+                .containsExactly(null, "TODO_NOT_FOUND", "TODO_NOT_FOUND", "TODO_NOT_FOUND");
+        assertThat(row(others)).containsEntry("PROGRESS", "TODO");
+        assertThat(row(othersUpdated)).containsEntry("TITLE", "todo").containsEntry("PROGRESS", "TODO");
+        assertThat(count(othersDeleted)).isEqualTo(1);
+    }
+
+    @Test
+    void 같은_투두를_두_번_변경하면_예외() {
+        long todoId = create(userId, "TODO");
+
+        assertThatThrownBy(() -> todoService.applyAll(List.of(operation("SWITCH", todoId), operation("DELETE", todoId)), userId))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode()).isEqualTo(ErrorCode.INVALID_PARAMETER);
+    }
+
+    @Test
+    void 일괄_변경과_동시에_삭제해도_변경_전_값을_잠근_상태로_처리() throws Exception {
+        List<Long> todoIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            todoIds.add(create(userId, "TODO"));
+        }
+
+        // 같은 투두를 한쪽은 수정, 한쪽은 삭제
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<List<TodoOperationRes>> batch = executor.submit(() -> {
+                start.await();
+                return todoService.applyAll(todoIds.stream()
+                        .map(todoId -> operation("UPDATE", todoId, Map.of("title", "수정", "priority", "High", "progress", "DONE")))
+                        .toList(), userId);
+            });
+            Future<Integer> deletes = executor.submit(() -> {
+                start.await();
+                int deleted = 0;
+                for (Long todoId : todoIds) {
+                    try {
+                        todoService.delete(todoId, userId);
+                        deleted++;
+                    } catch (CustomException e) {
+                        // 이미 없는 투두
+                    }
+                }
+                return deleted;
+            });
+            start.countDown();
+
+            // 수정된 투두는 삭제 결과에 따라 200, 이미 삭제된 투두는 404, 낙관적 락 예외 없음
+            List<TodoOperationRes> results = batch.get(1, TimeUnit.MINUTES);
+            assertThat(deletes.get(1, TimeUnit.MINUTES)).isEqualTo(todoIds.size());
+            assertThat(results).extracting(TodoOperationRes::getStatus).allMatch(status -> status == 200 || status == 404);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tb WHERE user_id = ?", Integer.class, userId)).isZero();
+    }
+
+    @Test
+    void 단건_변경은_한_번의_쿼리로_실행하고_이벤트에_변경_전_값을_담지_않음() {
+        long todoId = create(userId, "TODO");
+        applicationEvents.clear();
+
+        todoService.update(objectMapper.convertValue(Map.of("title", "수정", "priority", "Low", "progress", "TODO"), TodoPut.class),
+                todoId, userId);
+        todoService.switchProgress(todoId, userId);
+        assertThat(row(todoId)).containsEntry("TITLE", "수정").containsEntry("PROGRESS", "DONE").containsEntry("PROGRESS_ORDINAL", 1);
+        todoService.delete(todoId, userId);
+
+        List<TodoChangedEvent> events = applicationEvents.stream(TodoChangedEvent.class).toList();
+        assertThat(events).extracting(TodoChangedEvent::type).containsExactly(
+                TodoChangedEvent.Type.UPDATED, TodoChangedEvent.Type.PROGRESS_SWITCHED, TodoChangedEvent.Type.DELETED);
+        assertThat(events).extracting(TodoChangedEvent::todoId).containsOnly(todoId);
+        assertThat(events).extracting(TodoChangedEvent::before).containsOnlyNulls();
+
+        assertThat(events.get(0).after()).extracting(TodoRes::getTitle, TodoRes::getPriority).containsExactly("수정", Priority.Low);
+        assertThat(events.get(1).after()).isNull();
+        assertThat(events.get(2).after()).isNull();
+    }
+
+    @Test
+    void 다른_유저의_투두는_단건_변경도_404() {
+        long others = create(otherUserId, "TODO");
+        TodoPut todoPut = objectMapper.convertValue(Map.of("title", "수정", "priority", "Low", "progress", "DONE"), TodoPut.class);
+
+        assertThatThrownBy(() -> todoService.update(todoPut, others, userId)).isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode()).isEqualTo(ErrorCode.TODO_NOT_FOUND);
+        assertThatThrownBy(() -> todoService.switchProgress(others, userId)).isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode()).isEqualTo(ErrorCode.TODO_NOT_FOUND);
+        assertThatThrownBy(() -> todoService.delete(others, userId)).isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getErrorCode()).isEqualTo(ErrorCode.TODO_NOT_FOUND);
+        assertThat(row(others)).containsEntry("TITLE", "todo").containsEntry("PROGRESS", "TODO");
+    }
+
+    @Test
+    void 통계는_변경_전을_모르는_단건_변경_후_다시_계산() {
+        long updated = create(userId, "TODO");
+        long switched = create(userId, "TODO");
+        long deleted = create(userId, "DONE");
+        todoService.getStats(userId);
+        double misses = meterRegistry.get("todo.stats.cache.misses").functionCounter().count();
+
+        todoService.update(objectMapper.convertValue(Map.of("title", "수정", "priority", "Low", "progress", "DONE"), TodoPut.class),
+                updated, userId);
+        todoService.switchProgress(switched, userId);
+        todoService.delete(deleted, userId);
+        TodoStatsRes stats = todoService.getStats(userId);
+
+        // 캐시를 비우고 다시 계산 (기한 지난 투두 수는 변경마다 다시 계산)
+        assertThat(meterRegistry.get("todo.stats.cache.misses").functionCounter().count()).isGreaterThan(misses);
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getCounts().get(Priority.Low).get(Progress.DONE)).isEqualTo(1);
+        assertThat(stats.getCounts().get(Priority.High).get(Progress.DONE)).isEqualTo(1);
+        assertThat(stats.getCounts().get(Priority.High).get(Progress.TODO)).isZero();
+    }
+
+    private long newUser() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder().email(name + "@test.com").password("password").nickname(name).build()).getId();
+    }
+
+    private long create(long userId, String progress) {
+        return todoService.create(objectMapper.convertValue(
+                Map.of("title", "todo", "priority", "High", "progress", progress), TodoPost.class), userId);
+    }
+
+    private TodoOperation operation(String type, long todoId) {
+        return objectMapper.convertValue(Map.of("type", type, "todoId", todoId), TodoOperation.class);
+    }
+
+    private TodoOperation operation(String type, long todoId, Map<String, Object> todo) {
+        return objectMapper.convertValue(Map.of("type", type, "todoId", todoId, "todo", todo), TodoOperation.class);
+    }
+
+    private Map<String, Object> row(long todoId) {
+        return jdbcTemplate.queryForMap("SELECT title, progress, progress_ordinal FROM todo_tb WHERE id = ?", todoId);
+    }
+
+    private int count(long todoId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tb WHERE id = ?", Integer.class, todoId);
+    }
+}
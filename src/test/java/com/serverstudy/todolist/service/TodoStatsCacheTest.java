@@ -0,0 +1,149 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.common.SnowflakeIdGenerator;
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.response.TodoRes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoStatsCacheTest {
+
+    private final TodoStatsCache todoStatsCache = new TodoStatsCache(100, 60, 30, new SimpleMeterRegistry());
+
+    @Test
+    void 동시에_캐시_미스가_나도_조회는_한_번만_실행() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> todoStatsCache.getCounts(1L, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return counts(3);
+                })));
+            }
+            loading.await(5, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<int[]> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly(counts(3));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(todoStatsCache.getCounts(1L, () -> counts(100))).containsExactly(counts(3));
+    }
+
+    @Test
+    void 조회가_실패하면_기다리던_호출도_같은_예외() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<int[]> first = executor.submit(() -> todoStatsCache.getCounts(1L, () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("DB 오류");
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<int[]> second = executor.submit(() -> todoStatsCache.getCounts(1L, () -> counts(1)));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThatThrownBy(first::get).hasCauseInstanceOf(IllegalStateException.class);
+            // 두 번째 호출은 첫 번째 조회를 기다렸거나, 이미 끝난 뒤라면 직접 조회
+            try {
+                assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly(counts(1));
+            } catch (Exception e) {
+                assertThat(e).hasCauseInstanceOf(IllegalStateException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // 실패한 조회는 남지 않음
+        assertThat(todoStatsCache.getCounts(1L, () -> counts(2))).containsExactly(counts(2));
+    }
+
+    @Test
+    void 조회_중에_커밋된_변경이_있으면_결과를_캐시에_저장하지_않음() {
+        todoStatsCache.getCounts(1L, () -> {
+            todoStatsCache.onTodoChanged(TodoChangedEvent.created(1L, todo(1L, Priority.High, Progress.TODO)));
+            return counts(0);
+        });
+
+        assertThat(todoStatsCache.getCounts(1L, () -> counts(1))).containsExactly(counts(1));
+    }
+
+    @Test
+    void 캐시된_개수에_변경_전후를_반영() {
+        todoStatsCache.getCounts(1L, () -> counts(0));
+        TodoRes before = todo(1L, Priority.High, Progress.TODO);
+        TodoRes after = todo(1L, Priority.High, Progress.DONE);
+
+        todoStatsCache.onTodoChanged(TodoChangedEvent.created(1L, before));
+        todoStatsCache.onTodoChanged(TodoChangedEvent.progressSwitched(1L, before, after));
+
+        int[] counts = todoStatsCache.getCounts(1L, () -> counts(100));
+        assertThat(counts[TodoStatsCache.index(Priority.High, Progress.TODO)]).isZero();
+        assertThat(counts[TodoStatsCache.index(Priority.High, Progress.DONE)]).isEqualTo(1);
+
+        // 변경 전을 모르면 다시 계산
+        todoStatsCache.onTodoChanged(TodoChangedEvent.deleted(1L, 1L));
+        assertThat(todoStatsCache.getCounts(1L, () -> counts(7))).containsExactly(counts(7));
+    }
+
+    @Test
+    void 몇_ms_간격으로_생성된_유저_id도_여러_stripe에_나뉨() {
+        // 노드 0, 시퀀스 0인 Snowflake id를 1~3ms 간격으로 생성 (가입이 드문 서버의 유저 id)
+        Set<Integer> stripes = new HashSet<>();
+        long millis = System.currentTimeMillis() - SnowflakeIdGenerator.EPOCH_MILLIS;
+        for (int i = 0; i < 1000; i++) {
+            millis += 1 + i % 3;
+            stripes.add(TodoStatsCache.stripe(millis << (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS)));
+        }
+
+        // 1024칸에 1000개를 고르게 넣으면 약 630칸을 사용
+        assertThat(stripes).hasSizeGreaterThan(550).allSatisfy(stripe -> assertThat(stripe).isBetween(0, 1023));
+    }
+
+    private static int[] counts(int value) {
+        int[] counts = new int[TodoStatsCache.size()];
+        counts[0] = value;
+        return counts;
+    }
+
+    private static TodoRes todo(long todoId, Priority priority, Progress progress) {
+        return TodoRes.builder().id(todoId).title("todo").priority(priority).progress(progress).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.serverstudy.todolist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.domain.enums.Priority;
+import com.serverstudy.todolist.domain.enums.Progress;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoOperation;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoPost;
+import com.serverstudy.todolist.dto.request.TodoReq.TodoPut;
+import com.serverstudy.todolist.dto.response.TodoStatsRes;
+import com.serverstudy.todolist.exception.CustomException;
+import com.serverstudy.todolist.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 스레드에서 투두를 변경하면서 통계를 조회한 뒤, 캐시된 개수가 GROUP BY 결과와 같은지 확인
+@SpringBootTest
+class TodoStatsConsistencyTest {
+
+    private static final int THREADS = 6;
+    private static final int OPERATIONS = 150;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void 동시에_변경해도_캐시된_개수가_DB와_같음() throws Exception {
+        long userId = userRepository.save(User.builder()
+                .email("stats@test.com").password("password").nickname("stats").build()).getId();
+        for (int i = 0; i < 20; i++) {
+            todoService.create(todoPost(), userId);
+        }
+        todoService.getStats(userId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        randomOperation(userId);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TodoStatsRes stats = todoService.getStats(userId);
+        int total = 0;
+        for (Priority priority : Priority.values()) {
+            for (Progress progress : Progress.values()) {
+                int expected = countInDb(userId, priority, progress);
+                assertThat(stats.getCounts().get(priority).get(progress))
+                        .as("%s/%s", priority, progress).isEqualTo(expected);
+                total += expected;
+            }
+        }
+        assertThat(stats.getTotal()).isEqualTo(total);
+    }
+
+    private void randomOperation(long userId) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> todoIds = jdbcTemplate.queryForList("SELECT id FROM todo_tb WHERE user_id = ?", Long.class, userId);
+        long todoId = todoIds.isEmpty() ? 0 : todoIds.get(random.nextInt(todoIds.size()));
+        try {
+            switch (random.nextInt(6)) {
+                case 0 -> todoService.create(todoPost(), userId);
+                case 1 -> todoService.update(todoPut(), todoId, userId);
+                case 2 -> todoService.switchProgress(todoId, userId);
+                case 3 -> todoService.delete(todoId, userId);
+                case 4 -> todoService.applyAll(List.of(
+                        operation("SWITCH", todoId, null),
+                        operation("UPDATE", todoIds.isEmpty() ? 0 : todoIds.get(random.nextInt(todoIds.size())), todoPut())),
+                        userId);
+                default -> todoService.getStats(userId);
+            }
+        } catch (CustomException e) {
+            // 다른 스레드가 먼저 삭제한 투두, 같은 투두를 두 번 변경하는 일괄 요청
+        }
+    }
+
+    private int countInDb(long userId, Priority priority, Progress progress) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tb WHERE user_id = ? AND priority = ? AND progress = ?",
+                Integer.class, userId, priority.ordinal(), progress.name());
+    }
+
+    private TodoPost todoPost() {
+        return objectMapper.convertValue(Map.of("title", "todo", "priority", randomPriority(), "progress", randomProgress()),
+                TodoPost.class);
+    }
+
+    private TodoPut todoPut() {
+        return objectMapper.convertValue(Map.of("title", "todo", "priority", randomPriority(), "progress", randomProgress()),
+                TodoPut.class);
+    }
+
+    private TodoOperation operation(String type, long todoId, TodoPut todoPut) {
+        return objectMapper.convertValue(todoPut == null
+                        ? Map.of("type", type, "todoId", todoId)
+                        : Map.of("type", type, "todoId", todoId, "todo", todoPut),
+                TodoOperation.class);
+    }
+
+    private static String randomPriority() {
+        Priority[] priorities = Priority.values();
+        return priorities[ThreadLocalRandom.current().nextInt(priorities.length)].name();
+    }
+
+    private static String randomProgress() {
+        Progress[] progresses = Progress.values();
+        return progresses[ThreadLocalRandom.current().nextInt(progresses.length)].name();
+    }
+}
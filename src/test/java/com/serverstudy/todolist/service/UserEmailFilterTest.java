@@ -0,0 +1,55 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserEmailFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void 다시_생성하는_도중_가입한_이메일도_새_필터에_포함() {
+        UserEmailFilter userEmailFilter = new UserEmailFilter(userRepository, transactionManager, 100, 0.01, 0.2);
+        when(userRepository.count()).thenReturn(2L);
+        // 스트리밍 도중 가입
+        when(userRepository.streamAllEmails()).thenAnswer(invocation -> Stream.of("a@test.com", "b@test.com")
+                .peek(email -> userEmailFilter.addAfterCommit("new-" + email)));
+
+        userEmailFilter.rebuild();
+
+        assertThat(userEmailFilter.mightExist("A@test.com")).isTrue();
+        assertThat(userEmailFilter.mightExist("new-a@test.com")).isTrue();
+        assertThat(userEmailFilter.mightExist("new-b@test.com")).isTrue();
+    }
+
+    @Test
+    void 현재_필터_크기를_넘을_때만_다시_생성() {
+        UserEmailFilter userEmailFilter = new UserEmailFilter(userRepository, transactionManager, 10, 0.01, 0.2);
+        // 가입자가 많아 예상 삽입 수(10)보다 큰 필터(200)를 생성
+        when(userRepository.count()).thenReturn(100L);
+        List<String> emails = IntStream.range(0, 100).mapToObj(i -> "user" + i + "@test.com").toList();
+        when(userRepository.streamAllEmails()).thenAnswer(invocation -> emails.stream());
+        userEmailFilter.rebuild();
+
+        for (int i = 0; i < 50; i++) {
+            userEmailFilter.addAfterCommit("join" + i + "@test.com");
+        }
+        userEmailFilter.rebuildIfStale();
+        verify(userRepository, times(1)).streamAllEmails();
+
+        for (int i = 50; i < 150; i++) {
+            userEmailFilter.addAfterCommit("join" + i + "@test.com");
+        }
+        userEmailFilter.rebuildIfStale();
+        verify(userRepository, times(2)).streamAllEmails();
+    }
+}
@@ -0,0 +1,69 @@
+package com.serverstudy.todolist.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void NDJSON_내보내기는_유저마다_flush하지_않고_스트림을_닫지_않음() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            users.add(User.builder().email("export" + i + "@test.com").password("password").nickname("export" + i).build());
+        }
+        userRepository.saveAll(users);
+        long expected = userRepository.count() - userRepository.findByEmail("ADMIN").stream().count();
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        userService.exportAll("ndjson", outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize((int) expected);
+        for (String line : lines) {
+            JsonNode user = objectMapper.readTree(line);
+            assertThat(user.has("id")).isTrue();
+            assertThat(user.has("email")).isTrue();
+        }
+        assertThat(outputStream.flushes).isLessThanOrEqualTo(1);
+        assertThat(outputStream.closed).isFalse();
+    }
+
+    // flush, close 호출을 기록하는 출력 스트림
+    static class CountingOutputStream extends ByteArrayOutputStream {
+
+        int flushes;
+        boolean closed;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
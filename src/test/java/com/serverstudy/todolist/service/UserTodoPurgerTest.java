@@ -0,0 +1,110 @@
+package com.serverstudy.todolist.service;
+
+import com.serverstudy.todolist.domain.User;
+import com.serverstudy.todolist.dto.response.UserDeletionRes;
+import com.serverstudy.todolist.repository.TodoRepository;
+import com.serverstudy.todolist.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest(properties = "user.delete.chunk-size=2")
+class UserTodoPurgerTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserTodoPurger userTodoPurger;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private TodoRepository todoRepository;
+
+    @Test
+    void 바로_삭제하다_실패하면_백그라운드에서_다시_삭제() throws InterruptedException {
+        long userId = newUser();
+        insertTodos(userId, 5);
+        // 첫 번째 범위 삭제만 실패, 이후에는 실제 리포지토리로 위임
+        Answer<?> delegate = mockingDetails(todoRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) throw new IllegalStateException("DB 오류");
+            return delegate.answer(invocation);
+        }).when(todoRepository).deleteAllByUserIdAndIdRange(anyLong(), anyLong(), anyLong());
+
+        UserDeletionRes deletion = userService.delete(userId);
+
+        assertThat(deletion.getStatus()).isEqualTo(UserDeletionRes.Status.RUNNING);
+        awaitNoTodos(userId);
+        assertThat(userTodoPurger.getStatus(userId).getStatus()).isEqualTo(UserDeletionRes.Status.COMPLETED);
+    }
+
+    @Test
+    void 바로_삭제되면_완료_상태() {
+        long userId = newUser();
+        insertTodos(userId, 5);
+
+        UserDeletionRes deletion = userService.delete(userId);
+
+        assertThat(deletion.getStatus()).isEqualTo(UserDeletionRes.Status.COMPLETED);
+        assertThat(deletion.getDeletedTodos()).isEqualTo(5);
+    }
+
+    @Test
+    void 삭제된_유저의_남은_투두를_유저_id_순서로_나눠서_조회하고_삭제() throws InterruptedException {
+        // chunk-size(2)보다 많은 유저
+        for (long userId = 900_001; userId <= 900_005; userId++) {
+            insertTodos(userId, 3);
+        }
+        assertThat(todoRepository.findOrphanUserIds(900_002, Limit.of(2))).containsExactly(900_003L, 900_004L);
+
+        userTodoPurger.resumeOrphans();
+
+        for (long userId = 900_001; userId <= 900_005; userId++) {
+            awaitNoTodos(userId);
+        }
+        assertThat(todoRepository.findOrphanUserIds(0, Limit.of(2))).isEmpty();
+    }
+
+    private long newUser() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder().email(name + "@test.com").password("password").nickname(name).build()).getId();
+    }
+
+    private void insertTodos(long userId, int count) {
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM todo_tb", Long.class) + 1;
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO todo_tb (id, title, priority, progress, progress_ordinal, user_id) VALUES (?, 'todo', 0, 'TODO', 0, ?)",
+                    firstId + i, userId);
+        }
+    }
+
+    private void awaitNoTodos(long userId) throws InterruptedException {
+        for (int i = 0; i < 100 && countTodos(userId) > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(countTodos(userId)).isZero();
+    }
+
+    private int countTodos(long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tb WHERE user_id = ?", Integer.class, userId);
+    }
+}